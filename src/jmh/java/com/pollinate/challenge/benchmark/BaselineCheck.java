@@ -0,0 +1,101 @@
+package com.pollinate.challenge.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares a JMH JSON result file with a committed baseline and exits non-zero when any
+ * benchmark got slower than the tolerance allows: a higher average time, or a lower
+ * throughput for benchmarks run in {@code Mode.Throughput}.
+ *
+ * <p>Usage: {@code BaselineCheck <result.json> <baseline.json> <tolerance> [update]}. With
+ * {@code update} the baseline is rewritten from the result instead of being checked.
+ */
+public final class BaselineCheck {
+
+  private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+  private BaselineCheck() {
+  }
+
+  public static void main(String[] args) {
+    File resultFile = new File(args[0]);
+    File baselineFile = new File(args[1]);
+    double tolerance = Double.parseDouble(args[2]);
+    boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+    Set<String> throughput = new TreeSet<>();
+    Map<String, Double> results = scores(MAPPER.readTree(resultFile), throughput);
+    if (update || !baselineFile.exists()) {
+      ObjectNode baseline = MAPPER.createObjectNode();
+      results.forEach(baseline::put);
+      MAPPER.writerWithDefaultPrettyPrinter().writeValue(baselineFile, baseline);
+      System.out.println("Baseline written to " + baselineFile + " with " + results.size() + " entries");
+      return;
+    }
+
+    JsonNode baseline = MAPPER.readTree(baselineFile);
+    List<String> regressions = new ArrayList<>();
+    results.forEach((key, score) -> {
+      JsonNode expected = baseline.get(key);
+      if (expected == null) {
+        System.out.printf("NEW   %-90s %12.3f%n", key, score);
+        return;
+      }
+      boolean regressed = throughput.contains(key)
+          ? score < expected.asDouble() * (1 - tolerance)
+          : score > expected.asDouble() * (1 + tolerance);
+      System.out.printf("%-5s %-90s %12.3f (baseline %.3f)%n",
+          regressed ? "SLOW" : "OK", key, score, expected.asDouble());
+      if (regressed) {
+        regressions.add(key);
+      }
+    });
+
+    if (!regressions.isEmpty()) {
+      System.err.println(regressions.size() + " benchmark(s) regressed by more than "
+          + Math.round(tolerance * 100) + "%: " + regressions);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Flattens JMH results to "benchmark[param=value,...]" -> score, adding the keys of
+   * throughput runs to {@code throughput}.
+   */
+  private static Map<String, Double> scores(JsonNode results, Set<String> throughput) {
+    Map<String, Double> scores = new TreeMap<>();
+    for (JsonNode run : (ArrayNode) results) {
+      StringBuilder key = new StringBuilder(run.get("benchmark").asString());
+      JsonNode params = run.get("params");
+      if (params != null) {
+        key.append('[');
+        Iterator<Map.Entry<String, JsonNode>> fields = params.properties().iterator();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          key.append(field.getKey()).append('=').append(field.getValue().asString());
+          if (fields.hasNext()) {
+            key.append(',');
+          }
+        }
+        key.append(']');
+      }
+      scores.put(key.toString(), run.get("primaryMetric").get("score").asDouble());
+      if ("thrpt".equals(run.get("mode").asString())) {
+        throughput.add(key.toString());
+      }
+    }
+    return scores;
+  }
+}
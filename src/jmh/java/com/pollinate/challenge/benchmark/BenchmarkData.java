@@ -0,0 +1,51 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+import com.pollinate.challenge.domain.Product;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+  }
+
+  static List<Product> products(int count) {
+    return LongStream.rangeClosed(1, count)
+        .mapToObj(id -> Product.builder()
+            .id(id)
+            .name("Product " + id)
+            .priceMinor(100 + id * 37 % 9_900)
+            .build())
+        .toList();
+  }
+
+  static Map<Long, Product> catalog(List<Product> products) {
+    Map<Long, Product> catalog = new LinkedHashMap<>();
+    products.forEach(product -> catalog.put(product.getId(), product));
+    return catalog;
+  }
+
+  static Order order(List<Product> products) {
+    Order order = Order.builder()
+        .id(1L)
+        .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+        .totalPriceMinor(products.stream().mapToLong(Product::getPriceMinor).sum())
+        .build();
+    products.forEach(product -> order.addLine(OrderLine.builder()
+        .productId(product.getId())
+        .productName(product.getName())
+        .unitPriceMinor(product.getPriceMinor())
+        .quantity(1)
+        .build()));
+    return order;
+  }
+}
@@ -0,0 +1,109 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.ChallengeApplication;
+import com.pollinate.challenge.controller.dto.BulkImportResponse;
+import com.pollinate.challenge.controller.dto.OrderBatchResponse;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Insert cost of products and orders per ID allocation size. An allocation size of 1 costs
+ * one sequence call per row, the same round trip count as the IDENTITY columns it replaced;
+ * larger sizes amortise that call over a block. Each operation inserts {@code rows} products,
+ * or {@code rows} orders of three lines each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocationBenchmark {
+
+  @Param({"1", "50"})
+  public int allocationSize;
+
+  @Param({"100"})
+  public int rows;
+
+  private ConfigurableApplicationContext context;
+  private ProductService productService;
+  private OrderService orderService;
+  private JdbcTemplate jdbcTemplate;
+  private List<ProductRequest> products;
+  private List<OrderRequest> orders;
+  private long lastSeededProductId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(ChallengeApplication.class)
+        .web(WebApplicationType.NONE)
+        // Arguments rather than default properties, which application.yaml would override
+        .run("--spring.datasource.url=jdbc:h2:mem:jmh-ids-" + allocationSize,
+            "--challenge.ids.allocation-size=" + allocationSize,
+            // Imported products would otherwise pile up in the copy-on-write snapshot
+            "--challenge.catalog.enabled=false",
+            "--logging.level.com.pollinate=WARN");
+    productService = context.getBean(ProductService.class);
+    orderService = context.getBean(OrderService.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+    products = IntStream.range(0, rows)
+        .mapToObj(i -> new ProductRequest("Product " + i, BigDecimal.valueOf(100 + i, 2)))
+        .toList();
+    productService.importProducts(products.iterator());
+    List<Long> ids = productService.getAllProducts().stream().map(p -> p.getId()).toList();
+    lastSeededProductId = ids.get(ids.size() - 1);
+    orders = IntStream.range(0, rows)
+        .mapToObj(i -> new OrderRequest(List.of(ids.get(i % ids.size()), ids.get((i + 1) % ids.size()),
+            ids.get((i + 2) % ids.size()))))
+        .toList();
+  }
+
+  @TearDown(Level.Iteration)
+  public void clearInserted() {
+    // Keeps table sizes, and so index depth, the same across iterations
+    jdbcTemplate.update("delete from order_lines");
+    jdbcTemplate.update("delete from orders");
+    jdbcTemplate.update("delete from products where id > ?", lastSeededProductId);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public BulkImportResponse insertProducts() {
+    return productService.importProducts(products.iterator());
+  }
+
+  @Benchmark
+  public OrderBatchResponse insertOrders() {
+    return orderService.createOrders(orders);
+  }
+}
@@ -0,0 +1,117 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.ChallengeApplication;
+import com.pollinate.challenge.service.journal.EventJournal;
+import com.pollinate.challenge.service.journal.JournalEvent;
+import com.pollinate.challenge.service.journal.JournalEvent.OrderCreated;
+import com.pollinate.challenge.service.journal.JournalEvent.ProductCreated;
+import com.pollinate.challenge.service.journal.SnapshotFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time with {@code orders} orders of three lines each to restore, read either from
+ * journal segments or from a snapshot. Zero orders is the cost of starting the application
+ * at all; the difference is what replay adds to a restart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalReplayBenchmark {
+
+  private static final int PRODUCTS = 100;
+
+  @Param({"0", "10000", "100000"})
+  public int orders;
+
+  @Param({"journal", "snapshot"})
+  public String source;
+
+  private Path directory;
+  private ConfigurableApplicationContext context;
+  private int starts;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("jmh-journal");
+    List<JournalEvent> events = new ArrayList<>(PRODUCTS + orders);
+    for (long id = 1; id <= PRODUCTS; id++) {
+      events.add(new ProductCreated(id, "Product " + id, 100 + id));
+    }
+    LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+    long lineId = 1;
+    for (long id = 1; id <= orders; id++) {
+      List<OrderCreated.Line> lines = new ArrayList<>(3);
+      long total = 0;
+      for (int i = 0; i < 3; i++) {
+        long productId = (id + i) % PRODUCTS + 1;
+        long unitPrice = 100 + productId;
+        lines.add(new OrderCreated.Line(lineId++, productId, "Product " + productId, unitPrice, 1));
+        total += unitPrice;
+      }
+      events.add(new OrderCreated(id, createdAt.plusSeconds(id), total, null, lines));
+    }
+
+    if (source.equals("snapshot")) {
+      SnapshotFile.write(directory, events.size(), writer -> {
+        for (JournalEvent event : events) {
+          writer.write(event);
+        }
+      });
+    } else {
+      try (EventJournal journal = new EventJournal(directory, 64 << 20, Duration.ZERO)) {
+        journal.replay(0, event -> { });
+        journal.append(events);
+      }
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void stop() {
+    context.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  public ConfigurableApplicationContext start() {
+    // A fresh in-memory database per start, like a restarted process
+    context = new SpringApplicationBuilder(ChallengeApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:jmh-replay-" + starts++,
+            "--challenge.journal.enabled=true",
+            "--challenge.journal.directory=" + directory,
+            "--logging.level.com.pollinate=WARN");
+    return context;
+  }
+}
@@ -0,0 +1,87 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.controller.dto.OrderLineResponse;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, as done by the message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+  private ProductResponse product;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Product first = BenchmarkData.products(1).get(0);
+    product = ProductResponse.builder().id(first.getId()).name(first.getName()).price(Money.toDecimal(first.getPriceMinor())).build();
+  }
+
+  /**
+   * An order response with {@code lines} lines; kept apart so the product benchmark is not
+   * repeated once per line count.
+   */
+  @State(Scope.Benchmark)
+  public static class Orders {
+
+    @Param({"1", "10", "100", "1000"})
+    public int lines;
+
+    private OrderResponse order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      List<Product> products = BenchmarkData.products(lines);
+      order = OrderResponse.builder()
+          .id(1L)
+          .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+          .totalPrice(Money.toDecimal(BenchmarkData.order(products).getTotalPriceMinor()))
+          .lines(products.stream()
+              .map(p -> OrderLineResponse.builder()
+                  .productId(p.getId())
+                  .name(p.getName())
+                  .unitPrice(Money.toDecimal(p.getPriceMinor()))
+                  .quantity(1)
+                  .lineTotal(Money.toDecimal(p.getPriceMinor()))
+                  .build())
+              .toList())
+          .build();
+    }
+  }
+
+  @Benchmark
+  public byte[] serializeOrder(Orders orders) {
+    return jsonMapper.writeValueAsBytes(orders.order);
+  }
+
+  @Benchmark
+  public byte[] serializeProduct() {
+    return jsonMapper.writeValueAsBytes(product);
+  }
+}
@@ -0,0 +1,73 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.config.CatalogProperties;
+import com.pollinate.challenge.config.OrderLinesProperties;
+import com.pollinate.challenge.config.SalesReportProperties;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import com.pollinate.challenge.service.impl.OrderServiceImpl;
+import com.pollinate.challenge.service.metrics.OrderMetrics;
+import com.pollinate.challenge.service.report.SalesRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderServiceImpl#createOrder} against stubbed repositories, with the catalog
+ * snapshot on (no product lookup) and off (every ID goes to the repository).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+  @Param({"1", "10", "100", "10000"})
+  public int lines;
+
+  @Param({"true", "false"})
+  public boolean catalogEnabled;
+
+  private OrderServiceImpl orderService;
+  private OrderRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<Product> products = BenchmarkData.products(lines);
+    Map<Long, Product> catalog = BenchmarkData.catalog(products);
+    ProductRepository productRepository = RepositoryStubs.products(catalog);
+
+    ProductCatalog productCatalog = new ProductCatalog(
+        new CatalogProperties(catalogEnabled, 100_000), productRepository, new SimpleMeterRegistry());
+    productCatalog.admitLoaded(products);
+
+    orderService = new OrderServiceImpl(RepositoryStubs.orders(null), productRepository, productCatalog,
+        new OrderMetrics(new SimpleMeterRegistry()), new SalesRollup(new SalesReportProperties(false, 1, 1), null), null,
+        new OrderLinesProperties(100_000, 1_000));
+    request = new OrderRequest(List.copyOf(catalog.keySet()));
+  }
+
+  @Benchmark
+  public OrderResponse createOrder() {
+    return orderService.createOrder(request);
+  }
+}
@@ -0,0 +1,77 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.ChallengeApplication;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link OrderService#createOrder} through the real Spring context, transactions and an
+ * in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateH2Benchmark {
+
+  @Param({"1", "10", "100"})
+  public int lines;
+
+  private ConfigurableApplicationContext context;
+  private OrderService orderService;
+  private OrderRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(ChallengeApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:jmh-" + lines,
+            "logging.level.com.pollinate=WARN")
+        .run();
+    orderService = context.getBean(OrderService.class);
+
+    ProductService productService = context.getBean(ProductService.class);
+    productService.importProducts(IntStream.rangeClosed(1, lines)
+        .mapToObj(i -> new ProductRequest("Product " + i, BigDecimal.valueOf(i, 2)))
+        .iterator());
+    List<Long> ids = productService.getAllProducts().stream().map(p -> p.getId()).toList();
+    request = new OrderRequest(ids);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public OrderResponse createOrder() {
+    return orderService.createOrder(request);
+  }
+}
@@ -0,0 +1,89 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.ChallengeApplication;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Orders per millisecond from eight concurrent callers, created synchronously in H2
+ * ({@code sync}) or accepted by async intake with the journal fsynced ({@code async}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OrderIntakeBenchmark {
+
+  @Param({"sync", "async"})
+  public String mode;
+
+  private Path directory;
+  private ConfigurableApplicationContext context;
+  private OrderService orderService;
+  private OrderRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("jmh-intake");
+    context = new SpringApplicationBuilder(ChallengeApplication.class)
+        .web(WebApplicationType.NONE)
+        // Arguments rather than default properties, which application.yaml would override
+        .run("--spring.datasource.url=jdbc:h2:mem:jmh-intake-" + mode,
+            "--challenge.orders.intake.enabled=" + mode.equals("async"),
+            "--challenge.orders.intake.journal=" + directory.resolve("intake.journal"),
+            "--challenge.orders.intake.fsync=true",
+            // Measures accepting, not the writer keeping up
+            "--challenge.orders.intake.queue-capacity=100000000",
+            "--logging.level.com.pollinate=WARN");
+    orderService = context.getBean(OrderService.class);
+
+    ProductService productService = context.getBean(ProductService.class);
+    productService.importProducts(IntStream.rangeClosed(1, 10)
+        .mapToObj(i -> new ProductRequest("Product " + i, BigDecimal.valueOf(i, 2)))
+        .iterator());
+    List<Long> ids = productService.getAllProducts().stream().map(p -> p.getId()).toList();
+    request = new OrderRequest(ids);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    context.close();
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  public Object createOrder() {
+    return mode.equals("async") ? orderService.acceptOrder(request) : orderService.createOrder(request);
+  }
+}
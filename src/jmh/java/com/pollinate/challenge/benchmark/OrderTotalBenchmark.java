@@ -0,0 +1,60 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order totals in isolation: the former stream-and-reduce over {@link BigDecimal} prices
+ * against the primitive minor-unit loop order creation now uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int lines;
+
+  private List<Product> products;
+  private List<BigDecimal> decimalPrices;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    products = BenchmarkData.products(lines);
+    decimalPrices = products.stream().map(product -> Money.toDecimal(product.getPriceMinor())).toList();
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimalReduce() {
+    return decimalPrices.stream()
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  @Benchmark
+  public long minorUnitLoop() {
+    long total = 0;
+    for (Product product : products) {
+      total = Math.addExact(total, product.getPriceMinor());
+    }
+    return total;
+  }
+}
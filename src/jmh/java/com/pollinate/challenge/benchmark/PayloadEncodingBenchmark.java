@@ -0,0 +1,124 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.controller.dto.OrderLineResponse;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of the order and product listings per response encoding. Payload sizes
+ * are printed once per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+  private static final int LINES_PER_ORDER = 3;
+
+  @Param({"json", "json-gzip", "cbor", "smile"})
+  public String format;
+
+  @Param({"100", "1000"})
+  public int items;
+
+  private ObjectMapper mapper;
+  private boolean gzip;
+  private List<OrderResponse> orders;
+  private List<ProductResponse> products;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    gzip = format.endsWith("-gzip");
+    mapper = switch (format) {
+      case "json", "json-gzip" -> JsonMapper.builder().build();
+      case "cbor" -> CBORMapper.builder().build();
+      case "smile" -> SmileMapper.builder().build();
+      default -> throw new IllegalArgumentException("Unknown format: " + format);
+    };
+
+    List<Product> catalog = BenchmarkData.products(items);
+    products = catalog.stream()
+        .map(p -> ProductResponse.builder().id(p.getId()).name(p.getName()).price(Money.toDecimal(p.getPriceMinor())).build())
+        .toList();
+    orders = IntStream.range(0, items)
+        .mapToObj(i -> order(i, catalog))
+        .toList();
+
+    System.out.printf("%n%s, %d items: orders %,d bytes, products %,d bytes%n",
+        format, items, serializeOrders().length, serializeProducts().length);
+  }
+
+  private static OrderResponse order(int index, List<Product> catalog) {
+    List<OrderLineResponse> lines = IntStream.range(0, LINES_PER_ORDER)
+        .mapToObj(n -> catalog.get((index + n) % catalog.size()))
+        .map(p -> OrderLineResponse.builder()
+            .productId(p.getId())
+            .name(p.getName())
+            .unitPrice(Money.toDecimal(p.getPriceMinor()))
+            .quantity(1)
+            .lineTotal(Money.toDecimal(p.getPriceMinor()))
+            .build())
+        .toList();
+    return OrderResponse.builder()
+        .id(index + 1L)
+        .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(index))
+        .totalPrice(lines.stream().map(OrderLineResponse::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+        .lines(lines)
+        .build();
+  }
+
+  private byte[] encode(Object value) {
+    if (!gzip) {
+      return mapper.writeValueAsBytes(value);
+    }
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    // Level 6 matches the JDK default used by Tomcat's response compression
+    try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+      mapper.writeValue(out, value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] serializeOrders() {
+    return encode(orders);
+  }
+
+  @Benchmark
+  public byte[] serializeProducts() {
+    return encode(products);
+  }
+}
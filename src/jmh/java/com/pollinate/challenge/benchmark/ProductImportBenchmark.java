@@ -0,0 +1,80 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.ChallengeApplication;
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Products inserted per millisecond into H2, one {@link ProductService#createProduct} call
+ * each ({@code single}) or through {@link ProductService#importProducts} ({@code bulk}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductImportBenchmark {
+
+  private static final int PRODUCTS = 1_000;
+
+  @Param({"single", "bulk"})
+  public String mode;
+
+  private ConfigurableApplicationContext context;
+  private ProductService productService;
+  private List<ProductRequest> requests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(ChallengeApplication.class)
+        .web(WebApplicationType.NONE)
+        // Arguments rather than default properties, which application.yaml would override
+        .run("--spring.datasource.url=jdbc:h2:mem:jmh-import-" + mode,
+            "--logging.level.com.pollinate=WARN");
+    productService = context.getBean(ProductService.class);
+    requests = IntStream.range(0, PRODUCTS)
+        .mapToObj(i -> new ProductRequest("Product " + i, BigDecimal.valueOf(100 + i, 2)))
+        .toList();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PRODUCTS)
+  public Object importProducts() {
+    if (mode.equals("bulk")) {
+      return productService.importProducts(requests.iterator());
+    }
+    Object last = null;
+    for (ProductRequest request : requests) {
+      last = productService.createProduct(request);
+    }
+    return last;
+  }
+}
@@ -0,0 +1,115 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.config.ProductSearchProperties;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import com.pollinate.challenge.service.search.ProductSearchQuery;
+import com.pollinate.challenge.service.search.ProductSearchQuery.SortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries against a warmed {@link ProductSearchIndex}. Names are three words drawn from
+ * 40-word lists plus a model number, so a single word matches about 1 in 40 products;
+ * prices are spread over 1.00 to 999.99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchBenchmark {
+
+  private static final String[] ADJECTIVES = words("compact deluxe classic smart rugged slim portable quiet "
+      + "wireless heavy bright modern vintage premium basic ergonomic foldable digital manual electric "
+      + "mini mega ultra eco silent rapid thermal magnetic smooth solid soft hard light dark fresh royal "
+      + "urban rustic polar solar");
+  private static final String[] MATERIALS = words("steel oak bamboo glass copper leather cotton wool linen "
+      + "ceramic granite marble plastic rubber silver gold brass iron walnut maple cedar pine nylon canvas "
+      + "velvet silk denim felt cork stone clay carbon titanium aluminium chrome zinc bronze slate resin jute");
+  private static final String[] NOUNS = words("kettle toaster lamp chair desk table mug bottle blender "
+      + "speaker headphones keyboard mouse monitor router charger cable backpack wallet watch jacket boots "
+      + "scarf blanket pillow mirror clock vase shelf bench stool cabinet drawer rack hook basket bucket "
+      + "tray plate bowl");
+
+  @Param({"100000", "1000000"})
+  public int products;
+
+  private ProductSearchIndex index;
+
+  private ProductSearchQuery wordsAndPrice;
+  private ProductSearchQuery priceRange;
+  private ProductSearchQuery namePage;
+  private ProductSearchQuery deepIdPage;
+  private ProductSearchQuery broadPrefix;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Map<Long, Product> catalog = new LinkedHashMap<>();
+    for (long id = 1; id <= products; id++) {
+      int n = (int) (id * 2_654_435_761L % 64_000);
+      String name = ADJECTIVES[n % 40] + " " + MATERIALS[n / 40 % 40] + " " + NOUNS[(int) (id % 40)] + " " + id;
+      catalog.put(id, Product.builder().id(id).name(name).priceMinor(100 + id * 7_919 % 99_900).build());
+    }
+    index = new ProductSearchIndex(new ProductSearchProperties(true, 2_000_000, 20, 100, 10_000),
+        RepositoryStubs.products(catalog), new SimpleMeterRegistry());
+    index.warmUp();
+
+    // Bounds in minor units: 10.00 to 500.00, and 10.00 to 20.00
+    wordsAndPrice = query("steel kett", 1_000L, 50_000L, SortField.PRICE, false, 0);
+    priceRange = query(null, 1_000L, 2_000L, SortField.PRICE, false, 0);
+    namePage = query(null, null, null, SortField.NAME, false, 10);
+    deepIdPage = query(null, null, null, SortField.ID, true, 499);
+    broadPrefix = query("s", null, null, SortField.NAME, false, 0);
+  }
+
+  @Benchmark
+  public ProductSearchIndex.Result wordsAndPriceByPrice() {
+    return index.search(wordsAndPrice);
+  }
+
+  @Benchmark
+  public ProductSearchIndex.Result priceRangeByPrice() {
+    return index.search(priceRange);
+  }
+
+  @Benchmark
+  public ProductSearchIndex.Result allByName() {
+    return index.search(namePage);
+  }
+
+  @Benchmark
+  public ProductSearchIndex.Result allByIdDeepPage() {
+    return index.search(deepIdPage);
+  }
+
+  @Benchmark
+  public ProductSearchIndex.Result singleLetterPrefixByName() {
+    return index.search(broadPrefix);
+  }
+
+  private static ProductSearchQuery query(String name, Long min, Long max, SortField sort,
+                                          boolean descending, int page) {
+    return new ProductSearchQuery(ProductSearchQuery.tokenize(name), min, max, sort, descending, page, 20);
+  }
+
+  private static String[] words(String list) {
+    return list.split(" ");
+  }
+}
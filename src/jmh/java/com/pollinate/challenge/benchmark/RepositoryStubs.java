@@ -0,0 +1,68 @@
+package com.pollinate.challenge.benchmark;
+
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.repository.ProductSummary;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocation-light repository stand-ins so service benchmarks measure the service code
+ * rather than a mocking framework or a database. Only the methods the benchmarks reach
+ * are implemented; anything else fails loudly.
+ */
+final class RepositoryStubs {
+
+  private RepositoryStubs() {
+  }
+
+  static ProductRepository products(Map<Long, Product> catalog) {
+    return (ProductRepository) Proxy.newProxyInstance(
+        ProductRepository.class.getClassLoader(),
+        new Class<?>[] {ProductRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "findAllById" -> {
+            List<Product> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) args[0]) {
+              Product product = catalog.get((Long) id);
+              if (product != null) {
+                found.add(product);
+              }
+            }
+            yield found;
+          }
+          case "getReferenceById" -> catalog.get((Long) args[0]);
+          case "findAll" -> List.copyOf(catalog.values());
+          case "findSummariesAfter" -> catalog.values().stream()
+              .filter(product -> product.getId() > (Long) args[0])
+              .limit(((Limit) args[1]).max())
+              .map(product -> new ProductSummary(product.getId(), product.getName(), product.getPriceMinor(), 0L))
+              .toList();
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+  static OrderRepository orders(Order stored) {
+    AtomicLong ids = new AtomicLong();
+    return (OrderRepository) Proxy.newProxyInstance(
+        OrderRepository.class.getClassLoader(),
+        new Class<?>[] {OrderRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "save" -> {
+            Order order = (Order) args[0];
+            order.setId(ids.incrementAndGet());
+            yield order;
+          }
+          case "findWithLinesById", "findById" -> Optional.ofNullable(stored);
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
@@ -0,0 +1,150 @@
+package com.pollinate.challenge.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.pollinate.challenge.config.CatalogProperties;
+import com.pollinate.challenge.config.OrderIntakeProperties;
+import com.pollinate.challenge.config.OrderLinesProperties;
+import com.pollinate.challenge.config.SalesReportProperties;
+import com.pollinate.challenge.controller.OrderController;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.logging.KeyValuesConverter;
+import com.pollinate.challenge.logging.SamplingTurboFilter;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import com.pollinate.challenge.service.impl.OrderServiceImpl;
+import com.pollinate.challenge.service.intake.OrderIntake;
+import com.pollinate.challenge.service.metrics.OrderMetrics;
+import com.pollinate.challenge.service.report.SalesRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of {@link OrderController#createOrder} over stubbed repositories, with its
+ * log lines and the service's going nowhere ({@code off}), through a console-style pattern
+ * to a discarding stream ({@code sync}), through the async appender of
+ * {@code logback-spring.xml} ({@code async}), and with that and one in 100 creates sampled
+ * ({@code sampled}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+  // The console pattern of logback-spring.xml without colours
+  private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] "
+      + "%-40.40logger{39} : %m%keyValues%n";
+
+  @Param({"10", "1000"})
+  public int lines;
+
+  @Param({"off", "sync", "async", "sampled"})
+  public String logging;
+
+  private LoggerContext loggerContext;
+  private OrderController controller;
+  private OrderRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    configureLogging();
+
+    List<Product> products = BenchmarkData.products(lines);
+    Map<Long, Product> catalog = BenchmarkData.catalog(products);
+    ProductRepository productRepository = RepositoryStubs.products(catalog);
+    ProductCatalog productCatalog = new ProductCatalog(
+        new CatalogProperties(true, 100_000), productRepository, new SimpleMeterRegistry());
+    productCatalog.admitLoaded(products);
+
+    OrderIntake orderIntake = new OrderIntake(
+        new OrderIntakeProperties(false, 1, 1, Path.of("unused"), false, Duration.ZERO, Duration.ZERO),
+        null, null, null, null, new SimpleMeterRegistry());
+    OrderServiceImpl orderService = new OrderServiceImpl(RepositoryStubs.orders(null), productRepository,
+        productCatalog, new OrderMetrics(new SimpleMeterRegistry()),
+        new SalesRollup(new SalesReportProperties(false, 1, 1), null), orderIntake,
+        new OrderLinesProperties(100_000, 1_000));
+    controller = new OrderController(orderService, null, orderIntake);
+    request = new OrderRequest(List.copyOf(catalog.keySet()));
+  }
+
+  private void configureLogging() {
+    loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    loggerContext.reset();
+    loggerContext.putObject(CoreConstants.PATTERN_RULE_REGISTRY_FOR_SUPPLIERS,
+        Map.<String, Supplier<?>>of("keyValues", KeyValuesConverter::new));
+    Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.setLevel(logging.equals("off") ? ch.qos.logback.classic.Level.WARN : ch.qos.logback.classic.Level.INFO);
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(loggerContext);
+    encoder.setPattern(PATTERN);
+    encoder.start();
+    OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+    console.setContext(loggerContext);
+    console.setEncoder(encoder);
+    console.setOutputStream(OutputStream.nullOutputStream());
+    console.start();
+    if (logging.equals("sync") || logging.equals("off")) {
+      root.addAppender(console);
+      return;
+    }
+
+    AsyncAppender async = new AsyncAppender();
+    async.setContext(loggerContext);
+    async.setQueueSize(8192);
+    async.setIncludeCallerData(false);
+    async.addAppender(console);
+    async.start();
+    root.addAppender(async);
+
+    if (logging.equals("sampled")) {
+      SamplingTurboFilter sampling = new SamplingTurboFilter();
+      sampling.setContext(loggerContext);
+      sampling.setRate(100);
+      sampling.setLoggers(OrderController.class.getName() + "," + OrderServiceImpl.class.getName());
+      sampling.start();
+      loggerContext.addTurboFilter(sampling);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    loggerContext.reset();
+  }
+
+  @Benchmark
+  public ResponseEntity<?> createOrder() {
+    return controller.createOrder(request, null, null);
+  }
+}
@@ -0,0 +1,47 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for admission control in front of {@code /api/**}.
+ *
+ * @param enabled          shed requests beyond the adaptive concurrency limit and the rate limits;
+ *                         off unless set, since it adds 503 and 429 responses
+ * @param initialLimit     concurrent requests admitted before any latency has been observed
+ * @param minLimit         the limit never drops below this, however slow responses get
+ * @param maxLimit         the limit never grows beyond this
+ * @param latencyTolerance how far recent latency may rise above its long-run baseline, as a
+ *                         ratio, before the limit is cut
+ * @param backoffRatio     factor the limit is multiplied by when latency is over tolerance
+ * @param retryAfter       {@code Retry-After} sent with a {@code 503} when the limit is reached
+ * @param rateLimits       per-principal token buckets; the first rule matching a request applies
+ */
+@ConfigurationProperties(prefix = "challenge.admission")
+public record AdmissionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("100") int initialLimit,
+    @DefaultValue("8") int minLimit,
+    @DefaultValue("500") int maxLimit,
+    @DefaultValue("2.0") double latencyTolerance,
+    @DefaultValue("0.9") double backoffRatio,
+    @DefaultValue("1s") Duration retryAfter,
+    @DefaultValue List<RateLimit> rateLimits) {
+
+  /**
+   * @param path             path pattern such as {@code /api/orders/**}
+   * @param method           HTTP method the rule applies to; blank for any
+   * @param permitsPerSecond sustained requests per second per principal
+   * @param burst            requests a principal may make at once after being idle; 0 means
+   *                         one second's worth
+   */
+  public record RateLimit(
+      String path,
+      String method,
+      double permitsPerSecond,
+      @DefaultValue("0") int burst) {
+  }
+}
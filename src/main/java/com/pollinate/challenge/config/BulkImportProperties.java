@@ -0,0 +1,14 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for streamed product imports.
+ *
+ * @param batchSize number of products persisted per transaction; each batch is flushed
+ *                  as JDBC batches of {@code spring.jpa.properties.hibernate.jdbc.batch_size}
+ */
+@ConfigurationProperties(prefix = "challenge.products.bulk")
+public record BulkImportProperties(@DefaultValue("500") int batchSize) {
+}
@@ -0,0 +1,16 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-memory product catalog snapshot used when pricing orders.
+ *
+ * @param enabled turns the snapshot off per deployment; lookups then always go to the database
+ * @param maxSize upper bound on cached products; products beyond it are served from the database
+ */
+@ConfigurationProperties(prefix = "challenge.catalog")
+public record CatalogProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100000") int maxSize) {
+}
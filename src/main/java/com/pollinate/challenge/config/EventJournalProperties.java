@@ -0,0 +1,31 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the product and order event journal that lets the in-memory database
+ * survive a restart.
+ *
+ * @param enabled             journal committed products and orders, and replay them at startup
+ * @param directory           holds the journal segments and the latest snapshot
+ * @param segmentSize         size of each memory-mapped journal segment
+ * @param syncCommits         hold each commit until its events are forced to disk; without it
+ *                            the last few milliseconds of commits can be lost on a power failure
+ * @param groupCommitInterval pause between two forces; commits arriving meanwhile share the
+ *                            next one. Zero forces as soon as the previous force finishes
+ * @param snapshotInterval    how often a compact snapshot is written and older segments deleted
+ */
+@ConfigurationProperties(prefix = "challenge.journal")
+public record EventJournalProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/journal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("true") boolean syncCommits,
+    @DefaultValue("0ms") Duration groupCommitInterval,
+    @DefaultValue("10m") Duration snapshotInterval) {
+}
@@ -0,0 +1,16 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for sequence-generated entity IDs.
+ *
+ * @param allocationSize IDs reserved per sequence round trip for products, orders and order
+ *                       lines; must match each sequence's {@code INCREMENT BY}, which is checked at
+ *                       startup
+ */
+@ConfigurationProperties(prefix = "challenge.ids")
+public record IdGenerationProperties(
+    @DefaultValue("50") int allocationSize) {
+}
@@ -0,0 +1,25 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code Idempotency-Key} handling on {@code POST /api/orders}.
+ *
+ * @param ttl         how long a key returns the stored response instead of creating a new order
+ * @param maxEntries  keys kept in memory; the oldest completed keys are evicted first
+ * @param waitTimeout how long a repeated request waits for the first one with the same key
+ * @param persistent  also store completed responses in {@code idempotency_keys}, so keys
+ *                    survive a restart and are shared by instances on the same database
+ * @param purgeInterval how often expired rows are deleted from {@code idempotency_keys}
+ */
+@ConfigurationProperties(prefix = "challenge.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("10000") int maxEntries,
+    @DefaultValue("10s") Duration waitTimeout,
+    @DefaultValue("false") boolean persistent,
+    @DefaultValue("10m") Duration purgeInterval) {
+}
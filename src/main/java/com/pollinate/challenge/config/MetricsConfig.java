@@ -0,0 +1,44 @@
+package com.pollinate.challenge.config;
+
+import com.pollinate.challenge.service.metrics.ServiceMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Applies {@link ServiceMetricsInterceptor} to every {@code @Service} bean. Registered as an
+   * infrastructure advisor so the proxy creator that already wraps services for
+   * {@code @Transactional} picks it up without AspectJ, and ordered ahead of the transaction
+   * advisor so commit time is included.
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+    ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+        .intersection(new StaticMethodMatcher() {
+          @Override
+          public boolean matches(Method method, Class<?> targetClass) {
+            return !ReflectionUtils.isObjectMethod(method);
+          }
+        });
+    DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(meterRegistry));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+}
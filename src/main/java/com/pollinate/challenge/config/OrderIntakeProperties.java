@@ -0,0 +1,32 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for asynchronous order intake on {@code POST /api/orders}.
+ *
+ * @param enabled         accept orders with {@code 202} and persist them in the background
+ * @param queueCapacity   accepted orders waiting to be written; further orders get {@code 503}
+ * @param batchSize       orders persisted per transaction by the writer
+ * @param journal         append-only file that holds accepted orders until they are persisted
+ * @param fsync           force each accepted order to disk before replying, sharing the flush
+ *                        with concurrent accepts; without it an accepted order survives a
+ *                        process crash but not a power loss
+ * @param retryBackoff    first pause after a failed batch; doubles up to 30 seconds
+ * @param shutdownTimeout how long shutdown waits for the queue to drain; the rest is replayed
+ *                        from the journal on the next start
+ */
+@ConfigurationProperties(prefix = "challenge.orders.intake")
+public record OrderIntakeProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("200") int batchSize,
+    @DefaultValue("data/order-intake.journal") Path journal,
+    @DefaultValue("true") boolean fsync,
+    @DefaultValue("1s") Duration retryBackoff,
+    @DefaultValue("10s") Duration shutdownTimeout) {
+}
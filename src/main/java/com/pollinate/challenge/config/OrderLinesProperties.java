@@ -0,0 +1,19 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits on the product IDs of one order and how they are looked up.
+ *
+ * @param maxProductIds     most product IDs one order, or one batch in total, may list, repeats included;
+ *                          beyond it the request gets 400. Validation holds about 40 bytes per distinct
+ *                          product besides its order line
+ * @param lookupChunkSize   product IDs per {@code IN} list when loading products the catalog does not hold;
+ *                          the lists run one after another in the order's transaction
+ */
+@ConfigurationProperties(prefix = "challenge.orders.lines")
+public record OrderLinesProperties(
+    @DefaultValue("100000") int maxProductIds,
+    @DefaultValue("1000") int lookupChunkSize) {
+}
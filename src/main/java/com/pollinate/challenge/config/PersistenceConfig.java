@@ -0,0 +1,20 @@
+package com.pollinate.challenge.config;
+
+import com.pollinate.challenge.domain.PooledSequenceGenerator;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+  /**
+   * Hands the configured ID allocation size to {@link PooledSequenceGenerator}, which reads
+   * it from the Hibernate settings while the entity mappings are built.
+   */
+  @Bean
+  public HibernatePropertiesCustomizer idAllocationSizeCustomizer(IdGenerationProperties properties) {
+    return hibernateProperties -> hibernateProperties.put(
+        PooledSequenceGenerator.ALLOCATION_SIZE, properties.allocationSize());
+  }
+}
@@ -0,0 +1,23 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for {@code GET /api/products/search}.
+ *
+ * @param enabled          serve searches from the in-memory index; when off every search queries the database
+ * @param maxProducts      index capacity; a catalog that outgrows it drops the index and is searched in the database
+ * @param defaultPageSize  page size when the request does not give one
+ * @param maxPageSize      largest page size a request may ask for
+ * @param maxResultWindow  deepest result a request may page to ({@code (page + 1) * size}), which bounds
+ *                         the partial sort kept per query
+ */
+@ConfigurationProperties(prefix = "challenge.products.search")
+public record ProductSearchProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("2000000") int maxProducts,
+    @DefaultValue("20") int defaultPageSize,
+    @DefaultValue("100") int maxPageSize,
+    @DefaultValue("10000") int maxResultWindow) {
+}
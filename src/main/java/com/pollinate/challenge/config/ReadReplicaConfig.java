@@ -0,0 +1,51 @@
+package com.pollinate.challenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "challenge.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean(destroyMethod = "close")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean(destroyMethod = "close")
+  public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+    HikariDataSource dataSource = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .url(properties.url())
+        .username(properties.username())
+        .password(properties.password())
+        .build();
+    dataSource.setPoolName("replica");
+    dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  /**
+   * The data source everything else sees, JPA and {@code JdbcTemplate} included. Plain JDBC
+   * outside a read-only transaction stays on the primary, and so do the startup rebuilds of
+   * the catalog, search index and sales rollups, whose repository queries are read-write.
+   */
+  @Bean
+  @Primary
+  public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource,
+                                             HikariDataSource replicaDataSource,
+                                             ReadReplicaProperties properties,
+                                             MeterRegistry meterRegistry) {
+    return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+        properties.readYourWritesWindow(), meterRegistry);
+  }
+}
@@ -0,0 +1,28 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for sending read-only transactions to a replica database.
+ *
+ * @param enabled               route {@code @Transactional(readOnly = true)} work to the replica
+ *                              pool; the primary keeps {@code spring.datasource.*}
+ * @param url                   JDBC URL of the replica
+ * @param username              replica user
+ * @param password              replica password
+ * @param maximumPoolSize       connections in the replica pool
+ * @param readYourWritesWindow  after a user's write, how long that user's reads stay on the
+ *                              primary; should exceed the replica's usual lag
+ */
+@ConfigurationProperties(prefix = "challenge.read-replica")
+public record ReadReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    String url,
+    @DefaultValue("sa") String username,
+    @DefaultValue("") String password,
+    @DefaultValue("10") int maximumPoolSize,
+    @DefaultValue("5s") Duration readYourWritesWindow) {
+}
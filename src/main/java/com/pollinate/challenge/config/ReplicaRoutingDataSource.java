@@ -0,0 +1,108 @@
+package com.pollinate.challenge.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the replica and all others to the primary.
+ *
+ * <p>The physical connection is only fetched once the first statement runs, after the
+ * transaction manager has marked the connection read-only, so {@code readOnly = true}
+ * alone decides the route.
+ *
+ * Work outside any transaction, such as plain {@code JdbcTemplate} calls, stays on the primary.
+ * Reads that must not lag, such as the startup rebuilds, run in read-write transactions.
+ *
+ * <p>A replica may lag behind the primary. To keep a user from missing their own writes,
+ * a read-write transaction run on behalf of an authenticated user keeps that user's reads
+ * on the primary for {@code readYourWritesWindow}. Connections are counted per route in
+ * {@code datasource.connections}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+  private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+  private final long windowNanos;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                  MeterRegistry meterRegistry) {
+    this.windowNanos = readYourWritesWindow.toNanos();
+    Counter writes = counter(meterRegistry, "primary", "write");
+    Counter untransacted = counter(meterRegistry, "primary", "no-transaction");
+    Counter recentWriteReads = counter(meterRegistry, "primary", "read-your-writes");
+    Counter reads = counter(meterRegistry, "replica", "read");
+
+    setTargetDataSource(new DelegatingDataSource(primary) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+          untransacted.increment();
+          return super.getConnection();
+        }
+        String user = currentUser();
+        if (user != null) {
+          lastWrites.put(user, System.nanoTime());
+        }
+        writes.increment();
+        return super.getConnection();
+      }
+    });
+    setReadOnlyDataSource(new DelegatingDataSource(replica) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        if (wroteRecently(currentUser())) {
+          recentWriteReads.increment();
+          return primary.getConnection();
+        }
+        reads.increment();
+        return super.getConnection();
+      }
+    });
+    afterPropertiesSet();
+  }
+
+  private boolean wroteRecently(String user) {
+    if (user == null) {
+      return false;
+    }
+    Long wroteAt = lastWrites.get(user);
+    if (wroteAt == null) {
+      return false;
+    }
+    if (System.nanoTime() - wroteAt < windowNanos) {
+      return true;
+    }
+    lastWrites.remove(user, wroteAt);
+    return false;
+  }
+
+  // Background work such as the intake writer has no user and needs no read-your-writes
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String route, String reason) {
+    return Counter.builder("datasource.connections")
+        .description("Physical connections taken, by database and why it was chosen")
+        .tag("route", route)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+}
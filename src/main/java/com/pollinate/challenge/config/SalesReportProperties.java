@@ -0,0 +1,18 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-memory sales rollups behind {@code /api/reports/sales}.
+ *
+ * @param enabled            maintain rollups on order creation and rebuild them at startup
+ * @param rebuildChunkSize   order ID range scanned by one rebuild task
+ * @param rebuildParallelism rebuild tasks run at once; each holds a pooled connection while it reads
+ */
+@ConfigurationProperties(prefix = "challenge.reports.sales")
+public record SalesReportProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5000") int rebuildChunkSize,
+    @DefaultValue("4") int rebuildParallelism) {
+}
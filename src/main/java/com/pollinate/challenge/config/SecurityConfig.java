@@ -1,5 +1,9 @@
 package com.pollinate.challenge.config;
 
+import com.pollinate.challenge.security.BearerTokenAuthenticationFilter;
+import com.pollinate.challenge.security.TokenService;
+import com.pollinate.challenge.service.admission.RateLimitFilter;
+import com.pollinate.challenge.service.admission.RequestRateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,14 +11,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) {
+  public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService,
+                                         RequestRateLimiter rateLimiter) {
     http
         // Disable CSRF for local development/testing with H2 and Postman
         .csrf(AbstractHttpConfigurer::disable)
@@ -39,6 +47,18 @@ public class SecurityConfig {
             // All other endpoints require authentication
             .anyRequest().authenticated()
         )
+        // No HTTP session: every request carries its own credentials
+        .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
+        // Bearer tokens from /api/auth/token are checked with one HMAC before Basic Auth is tried,
+        // so only the token exchange itself pays for a password hash. The exchange takes Basic only,
+        // otherwise a leaked token could keep renewing itself
+        .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService,
+            PathPatternRequestMatcher.withDefaults().matcher("/api/auth/token")), BasicAuthenticationFilter.class)
+
+        // Per-principal rate limits need the authenticated user, so they run after both schemes
+        .addFilterAfter(new RateLimitFilter(rateLimiter), BasicAuthenticationFilter.class)
+
         // Use Basic Auth
         .httpBasic(Customizer.withDefaults());
 
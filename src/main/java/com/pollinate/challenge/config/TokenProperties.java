@@ -0,0 +1,19 @@
+package com.pollinate.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the signed bearer tokens issued by {@code POST /api/auth/token}.
+ *
+ * @param secret HMAC key; when blank a random key is generated at startup, so tokens
+ *               do not survive a restart and are not shared between instances
+ * @param ttl    lifetime of an issued token
+ */
+@ConfigurationProperties(prefix = "challenge.security.token")
+public record TokenProperties(
+    String secret,
+    @DefaultValue("15m") Duration ttl) {
+}
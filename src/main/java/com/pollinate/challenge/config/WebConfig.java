@@ -0,0 +1,71 @@
+package com.pollinate.challenge.config;
+
+import com.pollinate.challenge.service.admission.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+
+@Configuration
+public class WebConfig {
+
+  /**
+   * Order list pages change with every new order and have no cheap version to compare,
+   * so they get a body-hash ETag instead: the page is still built, but an unchanged page
+   * is answered with an empty 304. The ETag is weak so that response compression still applies.
+   */
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> orderListEtagFilter() {
+    ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+    filter.setWriteWeakETag(true);
+    FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/api/orders");
+    return registration;
+  }
+
+  /**
+   * API responses are negotiated between JSON, CBOR and Smile by {@code Accept}, but their
+   * ETags only identify the resource version, so shared caches and revalidating clients are
+   * told to key on {@code Accept} as well. Tomcat adds {@code Accept-Encoding} when it compresses.
+   */
+  @Bean
+  public FilterRegistrationBean<OncePerRequestFilter> varyByAcceptFilter() {
+    OncePerRequestFilter filter = new OncePerRequestFilter() {
+      @Override
+      protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        chain.doFilter(request, response);
+      }
+    };
+    FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+
+  /**
+   * Sheds API requests beyond the adaptive concurrency limit. Ordered after the request
+   * observation filter, so shed requests still show up in {@code http.server.requests}, and
+   * before Spring Security, so they are refused before any credentials are checked.
+   */
+  @Bean
+  public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdmissionProperties properties,
+                                                                               MeterRegistry meterRegistry) {
+    FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+        new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties, meterRegistry));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    registration.setEnabled(properties.enabled());
+    return registration;
+  }
+}
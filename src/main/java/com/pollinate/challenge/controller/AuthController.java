@@ -0,0 +1,30 @@
+package com.pollinate.challenge.controller;
+
+import com.pollinate.challenge.controller.dto.TokenResponse;
+import com.pollinate.challenge.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Exchange Basic credentials for a short-lived bearer token")
+public class AuthController {
+
+  private final TokenService tokenService;
+
+  @PostMapping("/token")
+  @Operation(summary = "Issue a bearer token for the Basic-authenticated caller")
+  public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+    log.info("REST request to issue a token for user: {}", authentication.getName());
+    return ResponseEntity.ok(tokenService.issue(authentication));
+  }
+}
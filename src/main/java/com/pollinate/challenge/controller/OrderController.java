@@ -1,16 +1,27 @@
 package com.pollinate.challenge.controller;
 
+import com.pollinate.challenge.controller.dto.OrderBatchResponse;
+import com.pollinate.challenge.controller.dto.OrderPageResponse;
+import com.pollinate.challenge.controller.dto.OrderReceipt;
 import com.pollinate.challenge.controller.dto.OrderRequest;
 import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.logging.LogValues;
 import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.idempotency.OrderIdempotencyStore;
+import com.pollinate.challenge.service.intake.OrderIntake;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,23 +32,82 @@ import java.util.List;
 public class OrderController {
 
   private final OrderService orderService;
+  private final OrderIdempotencyStore idempotencyStore;
+  private final OrderIntake orderIntake;
 
   @PostMapping
-  @Operation(summary = "Create a new order")
-  public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest request) {
-    log.info("REST request to create order for products: {}", request.getProductIds());
-    return new ResponseEntity<>(orderService.createOrder(request), HttpStatus.CREATED);
+  @Operation(summary = "Create a new order; repeat an Idempotency-Key to safely retry. "
+      + "With async intake enabled, returns 202 and a receipt instead")
+  public ResponseEntity<?> createOrder(
+      @RequestBody OrderRequest request,
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+      Principal principal) {
+    log.atInfo()
+        .addKeyValue("productCount", request.getProductIds() == null ? 0 : request.getProductIds().size())
+        .addKeyValue("productIds", LogValues.truncated(request.getProductIds()))
+        .log("REST request to create order");
+    if (orderIntake.enabled()) {
+      if (idempotencyKey == null) {
+        OrderReceipt receipt = orderService.acceptOrder(request);
+        return accepted(receipt).body(receipt);
+      }
+      // A retry gets the first receipt back, and with it the same tracking ID
+      OrderIdempotencyStore.Outcome<OrderReceipt> outcome = idempotencyStore.execute(principal.getName(),
+          idempotencyKey, request.getProductIds(), OrderReceipt.class, () -> orderService.acceptOrder(request));
+      return accepted(outcome.response())
+          .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+          .body(outcome.response());
+    }
+    if (idempotencyKey == null) {
+      return new ResponseEntity<>(orderService.createOrder(request), HttpStatus.CREATED);
+    }
+
+    // Runs outside the order transaction, so a waiting retry never holds a connection
+    OrderIdempotencyStore.Outcome<OrderResponse> outcome = idempotencyStore.execute(
+        principal.getName(), idempotencyKey, request.getProductIds(), () -> orderService.createOrder(request));
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+        .body(outcome.response());
+  }
+
+  @PostMapping("/batch")
+  @Operation(summary = "Create many orders in one call, with a result per order")
+  public ResponseEntity<OrderBatchResponse> createOrders(@RequestBody List<OrderRequest> requests) {
+    log.info("REST request to create a batch of {} orders", requests.size());
+    return ResponseEntity.ok(orderService.createOrders(requests));
+  }
+
+  @GetMapping("/intake/{trackingId}")
+  @Operation(summary = "Status of an order accepted by async intake")
+  public ResponseEntity<OrderReceipt> getOrderReceipt(@PathVariable String trackingId) {
+    return ResponseEntity.ok(orderService.getOrderReceipt(trackingId));
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Get order by ID")
-  public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-    return ResponseEntity.ok(orderService.getOrderById(id));
+  @Operation(summary = "Get order by ID; supports If-None-Match")
+  public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, WebRequest webRequest) {
+    Long version = orderService.getOrderVersion(id);
+    if (version == null) {
+      return ResponseEntity.ok(orderService.getOrderById(id)); // Not found: raises the 404
+    }
+    String etag = "W/\"order-" + id + "-" + version + "\"";
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(etag).body(orderService.getOrderById(id));
   }
 
   @GetMapping
-  @Operation(summary = "List all orders")
-  public ResponseEntity<List<OrderResponse>> getAllOrders() {
-    return ResponseEntity.ok(orderService.getAllOrders());
+  @Operation(summary = "List orders newest first, one keyset page at a time")
+  public ResponseEntity<OrderPageResponse> getAllOrders(
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(orderService.getAllOrders(limit, cursor, from, to));
+  }
+
+  private static ResponseEntity.BodyBuilder accepted(OrderReceipt receipt) {
+    return ResponseEntity.accepted().location(URI.create("/api/orders/intake/" + receipt.getTrackingId()));
   }
 }
@@ -1,16 +1,28 @@
 package com.pollinate.challenge.controller;
 
+import com.pollinate.challenge.controller.dto.BulkImportResponse;
 import com.pollinate.challenge.controller.dto.ProductRequest;
 import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.controller.dto.ProductSearchResponse;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 
 @Slf4j
@@ -21,6 +33,7 @@ import java.util.List;
 public class ProductController {
 
   private final ProductService productService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping
   @Operation(summary = "Create a new product")
@@ -30,14 +43,79 @@ public class ProductController {
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Get product by ID")
-  public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-    return ResponseEntity.ok(productService.getProductById(id));
+  @Operation(summary = "Get product by ID; supports If-None-Match")
+  public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
+    // The ETag comes from the version alone, so a 304 never loads or serializes the product
+    Long version = productService.getProductVersion(id);
+    if (version == null) {
+      return ResponseEntity.ok(productService.getProductById(id)); // Not found: raises the 404
+    }
+    // Weak, so Tomcat still gzips the body (it skips compression for strong ETags)
+    String etag = "W/\"product-" + id + "-" + version + "\"";
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(etag).body(productService.getProductById(id));
   }
 
   @GetMapping
-  @Operation(summary = "List all products")
-  public ResponseEntity<List<ProductResponse>> getAllProducts() {
-    return ResponseEntity.ok(productService.getAllProducts());
+  @Operation(summary = "List all products; supports If-None-Match")
+  public ResponseEntity<List<ProductResponse>> getAllProducts(WebRequest webRequest) {
+    // Read before the list so a concurrent insert can only make the ETag older than the body
+    String etag = "W/\"products-" + productService.getCatalogVersion() + "\"";
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(etag).body(productService.getAllProducts());
   }
-}
\ No newline at end of file
+
+  @GetMapping("/search")
+  @Operation(summary = "Search products by name words and price range",
+      description = "Every word in 'name' must start a word of the product name; 'sort' is id, name or price, "
+          + "optionally followed by ',asc' or ',desc'")
+  public ResponseEntity<ProductSearchResponse> searchProducts(
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) BigDecimal maxPrice,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(required = false) Integer size) {
+    return ResponseEntity.ok(productService.searchProducts(name, minPrice, maxPrice, sort, page, size));
+  }
+
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Bulk import products from a JSON array or an NDJSON stream")
+  public ResponseEntity<BulkImportResponse> importProducts(HttpServletRequest request) throws IOException {
+    // Items are read one at a time straight off the request stream; a top-level array
+    // is unwrapped and NDJSON is read as a sequence of root values
+    try (MappingIterator<ProductRequest> items = objectMapper.readerFor(ProductRequest.class)
+        .readValues(request.getInputStream())) {
+      return ResponseEntity.ok(productService.importProducts(new ParseErrorTranslatingIterator(items)));
+    }
+  }
+
+  /**
+   * Surfaces malformed items as {@link InvalidRequestException} so the service can
+   * report how far the import got instead of failing the whole request.
+   */
+  private record ParseErrorTranslatingIterator(Iterator<ProductRequest> delegate) implements Iterator<ProductRequest> {
+
+    @Override
+    public boolean hasNext() {
+      try {
+        return delegate.hasNext();
+      } catch (JacksonException ex) {
+        throw new InvalidRequestException("Malformed product in import stream: " + ex.getOriginalMessage());
+      }
+    }
+
+    @Override
+    public ProductRequest next() {
+      try {
+        return delegate.next();
+      } catch (JacksonException ex) {
+        throw new InvalidRequestException("Malformed product in import stream: " + ex.getOriginalMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.pollinate.challenge.controller;
+
+import com.pollinate.challenge.controller.dto.SalesRebuildResponse;
+import com.pollinate.challenge.controller.dto.SalesReportResponse;
+import com.pollinate.challenge.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reporting", description = "Sales rollups maintained as orders are created")
+public class ReportController {
+
+  private final ReportService reportService;
+
+  @GetMapping("/sales")
+  @Operation(summary = "Revenue, order and unit counts grouped by product, day or hour")
+  public ResponseEntity<SalesReportResponse> getSales(
+      @RequestParam(defaultValue = "product") String groupBy,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(reportService.getSales(groupBy, from, to));
+  }
+
+  @PostMapping("/sales/rebuild")
+  @Operation(summary = "Recompute the sales rollups from stored orders")
+  public ResponseEntity<SalesRebuildResponse> rebuildSales() {
+    log.info("REST request to rebuild sales rollups");
+    return ResponseEntity.ok(reportService.rebuildSales());
+  }
+}
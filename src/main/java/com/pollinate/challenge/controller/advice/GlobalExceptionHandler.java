@@ -1,6 +1,10 @@
 package com.pollinate.challenge.controller.advice;
 
+import com.pollinate.challenge.exception.ConflictException;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.exception.ResourceNotFoundException;
+import com.pollinate.challenge.exception.ServiceUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,4 +20,23 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND)
         .body(Map.of("error", ex.getMessage()));
   }
+
+  @ExceptionHandler(InvalidRequestException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(Map.of("error", ex.getMessage()));
+  }
+
+  @ExceptionHandler(ConflictException.class)
+  public ResponseEntity<Map<String, String>> handleConflict(ConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(Map.of("error", ex.getMessage()));
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<Map<String, String>> handleServiceUnavailable(ServiceUnavailableException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(Map.of("error", ex.getMessage()));
+  }
 }
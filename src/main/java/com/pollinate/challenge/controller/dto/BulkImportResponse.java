@@ -0,0 +1,19 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+  private int imported;
+  private int failed;
+  private List<ImportBatchResult> batches;
+  // Set when the stream could not be read to the end; batches before it are still committed
+  private String error;
+}
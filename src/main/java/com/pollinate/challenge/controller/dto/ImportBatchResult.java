@@ -0,0 +1,22 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportBatchResult {
+
+  public enum Status { IMPORTED, FAILED }
+
+  private int batch;
+  private Status status;
+  private int size;
+  private Long firstId;
+  private Long lastId;
+  private String error;
+}
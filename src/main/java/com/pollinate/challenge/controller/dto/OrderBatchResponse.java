@@ -0,0 +1,18 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponse {
+  private int created;
+  private int rejected;
+  // One entry per submitted order, in request order
+  private List<OrderBatchResult> results;
+}
@@ -0,0 +1,22 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResult {
+
+  public enum Status { CREATED, REJECTED }
+
+  private int index;
+  private Status status;
+  private Long orderId;
+  private BigDecimal totalPrice;
+  private String error;
+}
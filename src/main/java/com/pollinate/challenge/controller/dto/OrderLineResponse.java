@@ -0,0 +1,20 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineResponse {
+  private Long productId;
+  private String name;
+  // Price when the order was placed, not the current catalog price
+  private BigDecimal unitPrice;
+  private int quantity;
+  private BigDecimal lineTotal;
+}
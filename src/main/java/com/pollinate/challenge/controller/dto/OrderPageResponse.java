@@ -0,0 +1,17 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+  private List<OrderResponse> orders;
+  // Opaque keyset token for the next page; null when this is the last page
+  private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReceipt {
+
+  public enum Status { QUEUED, CREATED }
+
+  private String trackingId;
+  private Status status;
+  private Long orderId;
+  private BigDecimal totalPrice;
+  private LocalDateTime acceptedAt;
+}
@@ -16,5 +16,5 @@ public class OrderResponse {
   private Long id;
   private BigDecimal totalPrice;
   private LocalDateTime createdAt;
-  private List<ProductResponse> products;
+  private List<OrderLineResponse> lines;
 }
\ No newline at end of file
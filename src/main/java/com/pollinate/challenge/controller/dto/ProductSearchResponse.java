@@ -0,0 +1,19 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse {
+  private List<ProductResponse> products;
+  private int page;
+  private int size;
+  // Number of matching products across all pages
+  private long total;
+}
@@ -0,0 +1,18 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRebuildResponse {
+  private long orders;
+  private int chunks;
+  // Orders that committed during the scan and were added afterwards
+  private long replayed;
+  private long elapsedMillis;
+}
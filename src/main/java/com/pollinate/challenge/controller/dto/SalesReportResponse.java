@@ -0,0 +1,20 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportResponse {
+  private String groupBy;
+  // Totals of the listed day or hour buckets; all-time for products, which take no range
+  private long totalOrders;
+  private BigDecimal totalRevenue;
+  private List<SalesReportRow> rows;
+}
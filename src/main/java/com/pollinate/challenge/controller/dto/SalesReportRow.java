@@ -0,0 +1,21 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRow {
+  // Product ID when grouped by product, otherwise the start of the day or hour (ISO-8601)
+  private String key;
+  // Product name as of its most recent order; null for time buckets
+  private String name;
+  private long orders;
+  private long units;
+  private BigDecimal revenue;
+}
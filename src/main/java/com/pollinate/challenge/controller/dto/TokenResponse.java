@@ -0,0 +1,17 @@
+package com.pollinate.challenge.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+  private String accessToken;
+  private String tokenType;
+  // Lifetime in seconds
+  private long expiresIn;
+}
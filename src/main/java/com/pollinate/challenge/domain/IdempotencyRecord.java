@@ -0,0 +1,46 @@
+package com.pollinate.challenge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Stored response for a completed idempotent request, keyed by principal and client key.
+ * Only written when {@code challenge.idempotency.persistent} is enabled.
+ */
+@Entity
+@Table(
+    name = "idempotency_keys",
+    indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+  @Id
+  @Column(length = 512)
+  private String scopedKey;
+
+  // SHA-256 of the request, so a key reused for a different request is detected
+  @Column(nullable = false, length = 64)
+  private String fingerprint;
+
+  @Lob
+  @Column(nullable = false)
+  private String response;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+}
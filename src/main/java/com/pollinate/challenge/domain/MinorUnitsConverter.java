@@ -0,0 +1,24 @@
+package com.pollinate.challenge.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps a minor-unit amount to a {@code DECIMAL} column, so the schema and existing rows
+ * stay as they were when prices were {@link BigDecimal} fields.
+ */
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+    return minorUnits == null ? null : Money.toDecimal(minorUnits);
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal amount) {
+    return amount == null ? null : Money.toMinorUnits(amount);
+  }
+}
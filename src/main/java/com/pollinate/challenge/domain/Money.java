@@ -0,0 +1,51 @@
+package com.pollinate.challenge.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a {@code long} count of minor units (cents) at a single, fixed currency scale.
+ *
+ * <p>Prices and totals are held and summed as primitives, so pricing an order allocates
+ * nothing and overflow throws instead of wrapping. {@link BigDecimal} is only used where an
+ * amount crosses a boundary: request and response bodies, and the {@code DECIMAL} columns
+ * via {@link MinorUnitsConverter}.
+ */
+public final class Money {
+
+  /** Decimal places of the currency; one minor unit is {@code 10^-SCALE}. */
+  public static final int SCALE = 2;
+
+  private static final double MINOR_UNITS_PER_UNIT = Math.pow(10, SCALE);
+
+  private Money() {
+  }
+
+  /**
+   * Exact conversion; throws {@link ArithmeticException} for more than {@link #SCALE}
+   * decimal places or an amount beyond the {@code long} range.
+   */
+  public static long toMinorUnits(BigDecimal amount) {
+    return amount.movePointRight(SCALE).longValueExact();
+  }
+
+  /**
+   * Conversion that rounds sub-minor-unit digits, e.g. {@code CEILING} for a lower bound.
+   */
+  public static long toMinorUnits(BigDecimal amount, RoundingMode rounding) {
+    return amount.movePointRight(SCALE).setScale(0, rounding).longValueExact();
+  }
+
+  public static BigDecimal toDecimal(long minorUnits) {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  /** Approximate value in major units, for metrics only. */
+  public static double toDouble(long minorUnits) {
+    return minorUnits / MINOR_UNITS_PER_UNIT;
+  }
+
+  public static long times(long minorUnits, int quantity) {
+    return Math.multiplyExact(minorUnits, quantity);
+  }
+}
@@ -1,17 +1,19 @@
 package com.pollinate.challenge.domain;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,35 +22,55 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "orders") // "ORDER" is a reserved SQL keyword
+@Table(
+    name = "orders", // "ORDER" is a reserved SQL keyword
+    indexes = @Index(name = "idx_orders_created_at_id", columnList = "createdAt, id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
+  // Pooled sequence so batched order submissions can be inserted as JDBC batches
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequence("order_seq")
   private Long id;
 
-  @Column(nullable = false)
-  private BigDecimal totalPrice;
+  // Minor units (see Money); the column stays DECIMAL
+  @Column(name = "total_price", nullable = false, scale = Money.SCALE)
+  @Convert(converter = MinorUnitsConverter.class)
+  private long totalPriceMinor;
 
   @Column(nullable = false)
   private LocalDateTime createdAt;
 
-  @ManyToMany
-  @JoinTable(
-      name = "order_products",
-      joinColumns = @JoinColumn(name = "order_id"),
-      inverseJoinColumns = @JoinColumn(name = "product_id")
-  )
+  // Set for orders taken through async intake; lets a replayed journal skip orders already saved
+  @Column(unique = true, length = 36)
+  private String trackingId;
+
+  // Optimistic lock; also the source of the order's ETag
+  @Version
+  private Long version;
 
-  private List<Product> products;
+  @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+  @OrderBy("id")
+  @Builder.Default
+  private List<OrderLine> lines = new ArrayList<>();
+
+  public void addLine(OrderLine line) {
+    line.setOrder(this);
+    lines.add(line);
+  }
 
   @PrePersist
   protected void onCreate() {
-    this.createdAt = LocalDateTime.now();
+    // Async intake orders keep the time they were accepted
+    if (this.createdAt == null) {
+      this.createdAt = LocalDateTime.now();
+    }
+    // Truncate to the column precision so keyset cursors round-trip exactly
+    this.createdAt = this.createdAt.truncatedTo(ChronoUnit.MICROS);
   }
 }
 
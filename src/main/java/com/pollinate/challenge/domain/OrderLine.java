@@ -0,0 +1,60 @@
+package com.pollinate.challenge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One product on an order, with the name and unit price copied at order time. Lines never
+ * reference the live product row, so later catalog changes do not rewrite order history.
+ */
+@Entity
+@Table(
+    name = "order_lines",
+    indexes = @Index(name = "idx_order_lines_order_id", columnList = "order_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLine {
+
+  @Id
+  @PooledSequence("order_line_seq")
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "order_id", nullable = false)
+  private Order order;
+
+  // Plain column rather than an association: reading a line must not touch the products table
+  @Column(nullable = false)
+  private Long productId;
+
+  @Column(nullable = false)
+  private String productName;
+
+  // Minor units (see Money); the column stays DECIMAL
+  @Column(name = "unit_price", nullable = false, scale = Money.SCALE)
+  @Convert(converter = MinorUnitsConverter.class)
+  private long unitPriceMinor;
+
+  @Column(nullable = false)
+  private int quantity;
+
+  public long lineTotalMinor() {
+    return Money.times(unitPriceMinor, quantity);
+  }
+}
@@ -0,0 +1,23 @@
+package com.pollinate.challenge.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated ID from a database sequence, reserving a block of IDs per round
+ * trip. The block size comes from {@code challenge.ids.allocation-size}.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+  /**
+   * Name of the database sequence.
+   */
+  String value();
+}
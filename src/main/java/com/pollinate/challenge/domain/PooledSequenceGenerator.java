@@ -0,0 +1,45 @@
+package com.pollinate.challenge.domain;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator behind {@link PooledSequence}. Unlike {@code @SequenceGenerator}, the
+ * allocation size is a Hibernate setting rather than an annotation constant, so it can be
+ * tuned per environment without a rebuild.
+ *
+ * <p>Uses the pooled-lo optimizer: each {@code nextval} reserves the block starting at the
+ * returned value. The sequence's {@code INCREMENT BY} must equal the allocation size, so
+ * changing the setting on an existing database also needs an {@code ALTER SEQUENCE}.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+  public static final String ALLOCATION_SIZE = "challenge.id.allocation_size";
+  public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+  private final String sequenceName;
+
+  public PooledSequenceGenerator(PooledSequence config) {
+    this.sequenceName = config.value();
+  }
+
+  @Override
+  public void configure(GeneratorCreationContext creationContext, Properties parameters) throws MappingException {
+    int allocationSize = creationContext.getServiceRegistry().requireService(ConfigurationService.class)
+        .getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+    if (allocationSize < 1) {
+      throw new MappingException(ALLOCATION_SIZE + " must be at least 1, was " + allocationSize);
+    }
+    parameters.put(SEQUENCE_PARAM, sequenceName);
+    parameters.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+    parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+    super.configure(creationContext, parameters);
+  }
+}
@@ -1,12 +1,12 @@
 package com.pollinate.challenge.domain;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,7 +14,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "products")
+@Table(
+    name = "products",
+    // Serve the price range and the name and price orderings when search falls back to the database;
+    // name word filters are not index-backed there
+    indexes = {
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_id", columnList = "name, id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,13 +30,21 @@ import lombok.Setter;
 @Builder
 public class Product {
 
+  // Pooled sequence instead of IDENTITY: IDs are allocated in blocks without a round trip
+  // per insert, which lets Hibernate group product inserts into JDBC batches
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequence("product_seq")
   private Long id;
 
   @Column(nullable = false)
   private String name;
 
-  @Column(nullable = false)
-  private BigDecimal price;
+  // Minor units (see Money); the column stays DECIMAL
+  @Column(name = "price", nullable = false, scale = Money.SCALE)
+  @Convert(converter = MinorUnitsConverter.class)
+  private long priceMinor;
+
+  // Optimistic lock; also the source of the product's ETag
+  @Version
+  private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.pollinate.challenge.logging;
+
+import ch.qos.logback.classic.pattern.KeyValuePairConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * {@code %kvp} preceded by a space, or nothing when the event has no key/value pairs, so
+ * {@code %m%keyValues} leaves no trailing space on plain messages. Cheaper than wrapping
+ * {@code %kvp} in {@code %replace}, which runs a regex over every line.
+ */
+public class KeyValuesConverter extends KeyValuePairConverter {
+
+  @Override
+  public String convert(ILoggingEvent event) {
+    String keyValues = super.convert(event);
+    return keyValues.isEmpty() ? keyValues : " " + keyValues;
+  }
+}
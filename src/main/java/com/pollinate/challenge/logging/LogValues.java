@@ -0,0 +1,46 @@
+package com.pollinate.challenge.logging;
+
+import java.util.List;
+
+/**
+ * Log argument and key/value helpers that defer formatting until an event is actually
+ * written, so a filtered or sampled-out event costs no string building.
+ */
+public final class LogValues {
+
+  /** Elements {@link #truncated} lists before counting the rest. */
+  public static final int MAX_LISTED = 10;
+
+  private LogValues() {
+  }
+
+  /**
+   * {@code values} rendered as its first {@value #MAX_LISTED} elements and a count of the
+   * rest, e.g. {@code [1, 2, 3, ... (+9990 more)]}; null renders as {@code null}.
+   */
+  public static Object truncated(List<?> values) {
+    return new Truncated(values);
+  }
+
+  private record Truncated(List<?> values) {
+
+    @Override
+    public String toString() {
+      if (values == null) {
+        return "null";
+      }
+      int listed = Math.min(values.size(), MAX_LISTED);
+      StringBuilder text = new StringBuilder("[");
+      for (int i = 0; i < listed; i++) {
+        if (i > 0) {
+          text.append(", ");
+        }
+        text.append(values.get(i));
+      }
+      if (values.size() > listed) {
+        text.append(", ... (+").append(values.size() - listed).append(" more)");
+      }
+      return text.append(']').toString();
+    }
+  }
+}
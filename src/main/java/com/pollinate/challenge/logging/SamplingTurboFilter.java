@@ -0,0 +1,55 @@
+package com.pollinate.challenge.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Passes about one in {@code rate} INFO and lower events from the listed loggers and their
+ * children; WARN and ERROR always pass. Declared as a {@code <turboFilter>} in
+ * {@code logback-spring.xml}, so a sampled-out event is dropped before its message is
+ * formatted or a logging event is created.
+ *
+ * <p>Sampling is random rather than every n-th call, which needs no shared counter on the
+ * request path.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+  private String[] loggers = new String[0];
+  private int rate = 1;
+
+  /** Comma-separated logger names. */
+  public void setLoggers(String loggers) {
+    this.loggers = Arrays.stream(loggers.split(","))
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .toArray(String[]::new);
+  }
+
+  public void setRate(int rate) {
+    this.rate = rate;
+  }
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    // A null format is an isEnabled check, including the one behind atInfo(); the event itself is sampled
+    if (rate <= 1 || format == null || level.isGreaterOrEqual(Level.WARN) || !sampled(logger.getName())) {
+      return FilterReply.NEUTRAL;
+    }
+    return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+  }
+
+  private boolean sampled(String name) {
+    for (String logger : loggers) {
+      if (name.startsWith(logger) && (name.length() == logger.length() || name.charAt(logger.length()) == '.')) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
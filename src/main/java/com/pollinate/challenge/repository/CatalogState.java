@@ -0,0 +1,8 @@
+package com.pollinate.challenge.repository;
+
+/**
+ * Aggregates of the products table that change with every product insert, delete or
+ * versioned update; the product list ETag is built from them.
+ */
+public record CatalogState(long count, long maxId, long versionSum) {
+}
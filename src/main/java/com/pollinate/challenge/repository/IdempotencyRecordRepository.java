@@ -0,0 +1,19 @@
+package com.pollinate.challenge.repository;
+
+import com.pollinate.challenge.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  // Bulk delete over idx_idempotency_keys_created_at; no entities are loaded
+  @Modifying
+  @Transactional
+  @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+  int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,6 +1,79 @@
 package com.pollinate.challenge.repository;
 
 import com.pollinate.challenge.domain.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+  @EntityGraph(attributePaths = "lines")
+  Optional<Order> findWithLinesById(Long id);
+
+  // Secondary load for a whole page: one join query initialises every order's lines
+  @EntityGraph(attributePaths = "lines")
+  List<Order> findWithLinesByIdIn(Collection<Long> ids);
+
+  // Keyset pagination over idx_orders_created_at_id: newest first, ties broken by id
+  @Query("""
+      select o from Order o
+      where (:from is null or o.createdAt >= :from)
+        and (:to is null or o.createdAt < :to)
+      order by o.createdAt desc, o.id desc
+      """)
+  List<Order> findFirstPage(@Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to,
+                            Limit limit);
+
+  @Query("""
+      select o from Order o
+      where (:from is null or o.createdAt >= :from)
+        and (:to is null or o.createdAt < :to)
+        and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+      order by o.createdAt desc, o.id desc
+      """)
+  List<Order> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to,
+                             Limit limit);
+
+  // Scalar read for conditional GETs: a primary key lookup without the lines join
+  @Query("select o.version from Order o where o.id = :id")
+  @Transactional(readOnly = true)
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  Optional<Order> findByTrackingId(String trackingId);
+
+  // The startup reads below run read-write so they stay on the primary: a lagging replica would
+  // hide committed orders from the intake replay and from the rollups until the next rebuild
+  @Query("select o.trackingId from Order o where o.trackingId in :trackingIds")
+  @Transactional
+  List<String> findTrackingIdsIn(@Param("trackingIds") Collection<String> trackingIds);
+
+  @Query("select min(o.id) from Order o")
+  @Transactional
+  Long findMinId();
+
+  @Query("select max(o.id) from Order o")
+  @Transactional
+  Long findMaxId();
+
+  // Flat projection for rollup rebuilds: one row per line, no entities in the persistence context
+  @Query("""
+      select new com.pollinate.challenge.repository.OrderSalesRow(
+          o.id, o.createdAt, o.totalPriceMinor, l.productId, l.productName, l.quantity, l.unitPriceMinor)
+      from OrderLine l join l.order o
+      where o.id >= :firstId and o.id <= :lastId
+      """)
+  @Transactional
+  List<OrderSalesRow> findSalesRows(@Param("firstId") Long firstId, @Param("lastId") Long lastId);
+}
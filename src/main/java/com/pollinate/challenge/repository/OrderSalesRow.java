@@ -0,0 +1,17 @@
+package com.pollinate.challenge.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order line joined with its order's header fields, read when rebuilding sales rollups.
+ * Amounts are in minor units.
+ */
+public record OrderSalesRow(
+    Long orderId,
+    LocalDateTime createdAt,
+    long orderTotalMinor,
+    Long productId,
+    String productName,
+    int quantity,
+    long unitPriceMinor) {
+}
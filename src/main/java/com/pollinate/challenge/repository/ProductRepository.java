@@ -1,6 +1,41 @@
 package com.pollinate.challenge.repository;
 
 import com.pollinate.challenge.domain.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {}
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+  // Scalar read for conditional GETs: no entity is loaded or put in the persistence context
+  @Query("select p.version from Product p where p.id = :id")
+  @Transactional(readOnly = true)
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  // Validator for the product list: read from the database, so every instance derives the same
+  // value from the same rows, whatever process wrote them
+  @Query("""
+      select new com.pollinate.challenge.repository.CatalogState(
+          count(p), coalesce(max(p.id), 0), coalesce(sum(p.version), 0))
+      from Product p
+      """)
+  @Transactional(readOnly = true)
+  CatalogState findCatalogState();
+
+  // Keyset page of projections for warming the catalog and search index without filling a persistence
+  // context. Read-write, so it stays on the primary: rows a lagging replica lacks would never be indexed
+  @Query("""
+      select new com.pollinate.challenge.repository.ProductSummary(p.id, p.name, p.priceMinor, p.version)
+      from Product p
+      where p.id > :afterId
+      order by p.id
+      """)
+  @Transactional
+  List<ProductSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+}
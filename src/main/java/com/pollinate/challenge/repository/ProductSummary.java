@@ -0,0 +1,7 @@
+package com.pollinate.challenge.repository;
+
+/**
+ * The searchable fields of a product, read in ID order when building the search index.
+ */
+public record ProductSummary(Long id, String name, long priceMinor, Long version) {
+}
@@ -0,0 +1,67 @@
+package com.pollinate.challenge.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>}. Requests without
+ * a bearer token pass through untouched so Basic authentication still applies to them.
+ * Requests matching {@code basicOnly} also pass through, so a bearer token cannot
+ * authenticate them: the token exchange must not let a token renew itself.
+ *
+ * <p>Registered only inside the security filter chain, never as a standalone servlet filter.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final TokenService tokenService;
+  private final RequestMatcher basicOnly;
+
+  public BearerTokenAuthenticationFilter(TokenService tokenService, RequestMatcher basicOnly) {
+    this.tokenService = tokenService;
+    this.basicOnly = basicOnly;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return basicOnly.matches(request);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (header == null || !header.startsWith(BEARER_PREFIX)) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    Optional<Authentication> authentication = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+    if (authentication.isEmpty()) {
+      response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+      return;
+    }
+
+    SecurityContext context = SecurityContextHolder.createEmptyContext();
+    context.setAuthentication(authentication.get());
+    SecurityContextHolder.setContext(context);
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.pollinate.challenge.security;
+
+import com.pollinate.challenge.config.TokenProperties;
+import com.pollinate.challenge.controller.dto.TokenResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived bearer tokens signed with HMAC-SHA256.
+ *
+ * <p>A token is {@code base64url(expiry|authorities|username).base64url(signature)}.
+ * Verifying it costs one HMAC over a few dozen bytes, so authenticated requests no
+ * longer pay for a password hash on every call.
+ */
+@Component
+public class TokenService {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final String FIELD_SEPARATOR = "|";
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final SecretKeySpec key;
+  private final TokenProperties properties;
+  private final Clock clock;
+
+  @Autowired
+  public TokenService(TokenProperties properties) {
+    this(properties, Clock.systemUTC());
+  }
+
+  TokenService(TokenProperties properties, Clock clock) {
+    this.properties = properties;
+    this.clock = clock;
+    this.key = new SecretKeySpec(resolveSecret(properties.secret()), ALGORITHM);
+  }
+
+  public TokenResponse issue(Authentication authentication) {
+    long expiresAt = clock.instant().plus(properties.ttl()).getEpochSecond();
+    String authorities = authentication.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .collect(Collectors.joining(","));
+    String payload = expiresAt + FIELD_SEPARATOR + authorities + FIELD_SEPARATOR + authentication.getName();
+    String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+    return TokenResponse.builder()
+        .accessToken(encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload)))
+        .tokenType("Bearer")
+        .expiresIn(properties.ttl().toSeconds())
+        .build();
+  }
+
+  /**
+   * Returns the authenticated principal for a valid, unexpired token; empty otherwise.
+   */
+  public Optional<Authentication> verify(String token) {
+    int dot = token.indexOf('.');
+    if (dot <= 0) {
+      return Optional.empty();
+    }
+    String encodedPayload = token.substring(0, dot);
+    try {
+      byte[] signature = DECODER.decode(token.substring(dot + 1));
+      // Constant-time comparison so the signature cannot be guessed byte by byte
+      if (!MessageDigest.isEqual(sign(encodedPayload), signature)) {
+        return Optional.empty();
+      }
+
+      String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", 3);
+      if (fields.length != 3 || Long.parseLong(fields[0]) <= clock.instant().getEpochSecond()) {
+        return Optional.empty();
+      }
+      return Optional.of(UsernamePasswordAuthenticationToken.authenticated(
+          fields[2], null, AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1])));
+    } catch (IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(String encodedPayload) {
+    try {
+      // Mac instances are not thread-safe; creating one per call is cheap compared to a request
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(encodedPayload.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+    }
+  }
+
+  private static byte[] resolveSecret(String secret) {
+    if (secret != null && !secret.isBlank()) {
+      return secret.getBytes(StandardCharsets.UTF_8);
+    }
+    byte[] random = new byte[32];
+    new SecureRandom().nextBytes(random);
+    return random;
+  }
+}
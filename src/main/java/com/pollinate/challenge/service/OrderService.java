@@ -1,11 +1,19 @@
 package com.pollinate.challenge.service;
 
+import com.pollinate.challenge.controller.dto.OrderBatchResponse;
+import com.pollinate.challenge.controller.dto.OrderPageResponse;
+import com.pollinate.challenge.controller.dto.OrderReceipt;
 import com.pollinate.challenge.controller.dto.OrderRequest;
 import com.pollinate.challenge.controller.dto.OrderResponse;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService{
   OrderResponse createOrder(OrderRequest request);
-  List<OrderResponse> getAllOrders();
+  OrderReceipt acceptOrder(OrderRequest request);
+  OrderReceipt getOrderReceipt(String trackingId);
+  OrderBatchResponse createOrders(List<OrderRequest> requests);
+  OrderPageResponse getAllOrders(Integer limit, String cursor, LocalDateTime from, LocalDateTime to);
   OrderResponse getOrderById(Long id);
+  Long getOrderVersion(Long id);
 }
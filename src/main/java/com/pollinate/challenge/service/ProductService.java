@@ -1,11 +1,20 @@
 package com.pollinate.challenge.service;
 
+import com.pollinate.challenge.controller.dto.BulkImportResponse;
 import com.pollinate.challenge.controller.dto.ProductRequest;
 import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.controller.dto.ProductSearchResponse;
+import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 
 public interface ProductService {
   ProductResponse createProduct(ProductRequest request);
   ProductResponse getProductById(Long id);
   List<ProductResponse> getAllProducts();
+  ProductSearchResponse searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                       String sort, Integer page, Integer size);
+  Long getProductVersion(Long id);
+  String getCatalogVersion();
+  BulkImportResponse importProducts(Iterator<ProductRequest> requests);
 }
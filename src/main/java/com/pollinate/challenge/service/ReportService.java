@@ -0,0 +1,10 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.controller.dto.SalesRebuildResponse;
+import com.pollinate.challenge.controller.dto.SalesReportResponse;
+import java.time.LocalDateTime;
+
+public interface ReportService {
+  SalesReportResponse getSales(String groupBy, LocalDateTime from, LocalDateTime to);
+  SalesRebuildResponse rebuildSales();
+}
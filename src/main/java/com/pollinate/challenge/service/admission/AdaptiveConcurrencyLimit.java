@@ -0,0 +1,103 @@
+package com.pollinate.challenge.service.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency by additive increase and multiplicative
+ * decrease.
+ *
+ * <p>Each completed request's latency feeds a fast moving average and a baseline that
+ * approximates latency without queueing. While the fast average stays within {@code tolerance} times the baseline, the
+ * limit grows by about one for every limit-many completions, but only while requests are
+ * actually using at least half of it. Once the fast average exceeds the tolerance, the limit
+ * is multiplied by {@code backoffRatio}, at most once per limit-many completions so one
+ * burst of slow responses cannot collapse it. Requests beyond the limit are refused at once
+ * rather than queued, which keeps the latency of admitted requests near the baseline.
+ */
+public class AdaptiveConcurrencyLimit {
+
+  private static final double FAST_WEIGHT = 0.1;
+  private static final double BASELINE_WEIGHT = 0.001;
+
+  private final double minLimit;
+  private final double maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile double limit;
+  private double fastLatency;
+  private double baselineLatency;
+  private long completionsSinceDecrease;
+
+  public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                  double backoffRatio) {
+    if (minLimit < 1 || minLimit > maxLimit) {
+      throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.backoffRatio = backoffRatio;
+    this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Takes a slot if one is free. Every successful call must be paired with {@link #release}.
+   *
+   * @return the number of requests in flight including this one, or 0 when refused
+   */
+  public int tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return 0;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * Frees a slot and records how long its request took.
+   *
+   * @param inFlightAtStart the value {@link #tryAcquire} returned for this request
+   */
+  public void release(long latencyNanos, int inFlightAtStart) {
+    inFlight.decrementAndGet();
+    onSample(latencyNanos, inFlightAtStart);
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  private synchronized void onSample(long latencyNanos, int inFlightAtStart) {
+    if (baselineLatency == 0) {
+      fastLatency = latencyNanos;
+      baselineLatency = latencyNanos;
+      return;
+    }
+    fastLatency += FAST_WEIGHT * (latencyNanos - fastLatency);
+    // The baseline tracks latency without queueing: it follows faster samples quickly and
+    // slower ones only slowly, so sustained queueing does not become the new normal
+    baselineLatency += (latencyNanos < baselineLatency ? FAST_WEIGHT : BASELINE_WEIGHT)
+        * (latencyNanos - baselineLatency);
+    completionsSinceDecrease++;
+
+    double current = limit;
+    if (fastLatency > tolerance * baselineLatency) {
+      if (completionsSinceDecrease >= current) {
+        limit = Math.max(minLimit, current * backoffRatio);
+        completionsSinceDecrease = 0;
+      }
+    } else if (inFlightAtStart * 2 >= current) {
+      limit = Math.min(maxLimit, current + 1 / current);
+    }
+  }
+}
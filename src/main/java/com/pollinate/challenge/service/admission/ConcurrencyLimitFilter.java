@@ -0,0 +1,96 @@
+package com.pollinate.challenge.service.admission;
+
+import com.pollinate.challenge.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits API requests up to an {@link AdaptiveConcurrencyLimit} and answers the rest at once
+ * with {@code 503} and {@code Retry-After}, instead of letting them queue in Tomcat until
+ * every request is slow.
+ *
+ * <p>Runs before authentication, so shed requests cost no password check.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final AdaptiveConcurrencyLimit limit;
+  private final long retryAfterSeconds;
+  private final Counter admitted;
+  private final Counter shed;
+
+  public ConcurrencyLimitFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+    this.limit = new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(),
+        properties.maxLimit(), properties.latencyTolerance(), properties.backoffRatio());
+    this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+    this.admitted = Counter.builder("http.admission")
+        .description("Requests admitted or shed by admission control")
+        .tag("outcome", "admitted")
+        .tag("reason", "none")
+        .register(meterRegistry);
+    this.shed = Counter.builder("http.admission")
+        .description("Requests admitted or shed by admission control")
+        .tag("outcome", "shed")
+        .tag("reason", "concurrency")
+        .register(meterRegistry);
+    Gauge.builder("http.admission.limit", limit, AdaptiveConcurrencyLimit::limit)
+        .description("Current adaptive concurrency limit")
+        .register(meterRegistry);
+    Gauge.builder("http.admission.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+        .description("API requests currently admitted")
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    int inFlight = limit.tryAcquire();
+    if (inFlight == 0) {
+      shed.increment();
+      Rejections.reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, retryAfterSeconds,
+          "Server is at capacity, please retry");
+      return;
+    }
+    admitted.increment();
+
+    long started = System.nanoTime();
+    boolean async = false;
+    try {
+      chain.doFilter(request, response);
+      async = request.isAsyncStarted();
+    } finally {
+      if (async) {
+        // onComplete follows a timeout or error too, so it is the only place to release
+        request.getAsyncContext().addListener(new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {
+            limit.release(System.nanoTime() - started, inFlight);
+          }
+
+          @Override
+          public void onTimeout(AsyncEvent event) {
+          }
+
+          @Override
+          public void onError(AsyncEvent event) {
+          }
+
+          @Override
+          public void onStartAsync(AsyncEvent event) {
+          }
+        });
+      } else {
+        limit.release(System.nanoTime() - started, inFlight);
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.pollinate.challenge.service.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RequestRateLimiter} per authenticated principal, answering {@code 429} with
+ * the seconds until the next permit in {@code Retry-After}. Requests without a principal are
+ * passed on untouched, so authorization still answers them with {@code 401} rather than a
+ * {@code 429} hiding missing or wrong credentials.
+ *
+ * <p>Registered only inside the security filter chain, after authentication.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final RequestRateLimiter rateLimiter;
+
+  public RateLimitFilter(RequestRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    long wait = rateLimiter.tryAcquire(request.getMethod(), request.getRequestURI(), authentication.getName());
+    if (wait > 0) {
+      Rejections.reject(response, 429, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)),
+          "Rate limit exceeded, please retry later");
+      return;
+    }
+    chain.doFilter(request, response);
+  }
+}
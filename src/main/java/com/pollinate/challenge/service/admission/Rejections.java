@@ -0,0 +1,25 @@
+package com.pollinate.challenge.service.admission;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Writes the same {@code {"error": ...}} body as the exception handlers, which filters
+ * running before the dispatcher cannot reach.
+ */
+final class Rejections {
+
+  private Rejections() {
+  }
+
+  static void reject(HttpServletResponse response, int status, long retryAfterSeconds, String message)
+      throws IOException {
+    response.setStatus(status);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"error\":\"" + message + "\"}");
+  }
+}
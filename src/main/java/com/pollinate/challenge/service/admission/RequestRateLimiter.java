@@ -0,0 +1,85 @@
+package com.pollinate.challenge.service.admission;
+
+import com.pollinate.challenge.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-principal token buckets for the configured {@code challenge.admission.rate-limits}.
+ *
+ * <p>Each principal gets one bucket per rule, created on its first matching request. Buckets
+ * that have refilled completely carry no state a new bucket would not, so they are swept
+ * periodically and memory stays proportional to recently active principals.
+ */
+@Component
+public class RequestRateLimiter {
+
+  private record Rule(PathPattern path, String method, double permitsPerSecond, double capacity) {
+
+    boolean matches(String requestMethod, PathContainer requestPath) {
+      return (method == null || method.equalsIgnoreCase(requestMethod)) && path.matches(requestPath);
+    }
+  }
+
+  private final List<Rule> rules;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final Counter limited;
+
+  public RequestRateLimiter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+    this.rules = !properties.enabled() ? List.of() : properties.rateLimits().stream()
+        .map(limit -> new Rule(
+            PathPatternParser.defaultInstance.parse(limit.path()),
+            limit.method() == null || limit.method().isBlank() ? null : limit.method(),
+            limit.permitsPerSecond(),
+            limit.burst() > 0 ? limit.burst() : Math.max(1, Math.ceil(limit.permitsPerSecond()))))
+        .toList();
+    this.limited = Counter.builder("http.admission")
+        .description("Requests admitted or shed by admission control")
+        .tag("outcome", "shed")
+        .tag("reason", "rate-limit")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Takes a permit for this principal from the first rule matching the request.
+   *
+   * @return 0 when admitted, which includes requests no rule matches; otherwise the
+   *         nanoseconds until the principal may try again
+   */
+  public long tryAcquire(String method, String path, String principal) {
+    if (rules.isEmpty()) {
+      return 0;
+    }
+    PathContainer requestPath = PathContainer.parsePath(path);
+    for (int i = 0; i < rules.size(); i++) {
+      Rule rule = rules.get(i);
+      if (rule.matches(method, requestPath)) {
+        long now = System.nanoTime();
+        long wait = buckets
+            .computeIfAbsent(i + ":" + principal, key -> new TokenBucket(rule.capacity(), rule.permitsPerSecond(), now))
+            .tryConsume(now);
+        if (wait > 0) {
+          limited.increment();
+        }
+        return wait;
+      }
+    }
+    return 0;
+  }
+
+  @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+  public void evictIdleBuckets() {
+    long now = System.nanoTime();
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+  }
+}
@@ -0,0 +1,45 @@
+package com.pollinate.challenge.service.admission;
+
+/**
+ * Token bucket refilled continuously at {@code permitsPerSecond} up to {@code capacity}.
+ * Starts full, so an idle client can send a burst of {@code capacity} requests at once.
+ */
+final class TokenBucket {
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private double tokens;
+  private long refilledAt;
+
+  TokenBucket(double capacity, double permitsPerSecond, long now) {
+    this.capacity = capacity;
+    this.tokensPerNano = permitsPerSecond / 1e9;
+    this.tokens = capacity;
+    this.refilledAt = now;
+  }
+
+  /**
+   * Takes one token if available.
+   *
+   * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+   */
+  synchronized long tryConsume(long now) {
+    refill(now);
+    if (tokens >= 1) {
+      tokens -= 1;
+      return 0;
+    }
+    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+  }
+
+  // A full bucket behaves exactly like a new one, so it can be dropped
+  synchronized boolean isFull(long now) {
+    refill(now);
+    return tokens >= capacity;
+  }
+
+  private void refill(long now) {
+    tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+    refilledAt = now;
+  }
+}
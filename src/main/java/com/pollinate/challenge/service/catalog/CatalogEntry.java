@@ -0,0 +1,14 @@
+package com.pollinate.challenge.service.catalog;
+
+import com.pollinate.challenge.domain.Product;
+
+/**
+ * Immutable copy of the product fields needed to price an order. Entities are
+ * mutable and bound to a persistence context, so they are never shared across threads.
+ */
+public record CatalogEntry(Long id, String name, long priceMinor, Long version) {
+
+  public static CatalogEntry from(Product product) {
+    return new CatalogEntry(product.getId(), product.getName(), product.getPriceMinor(), product.getVersion());
+  }
+}
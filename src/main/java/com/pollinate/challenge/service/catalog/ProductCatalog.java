@@ -0,0 +1,167 @@
+package com.pollinate.challenge.service.catalog;
+
+import com.pollinate.challenge.config.CatalogProperties;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-mostly snapshot of the product catalog keyed by product ID.
+ *
+ * <p>Readers dereference a single immutable map and never lock. Writers copy the
+ * current map, add their entries and swap the reference with a CAS, retrying if
+ * another writer won. A write that would change nothing, such as a miss on a full
+ * catalog, leaves the snapshot alone instead of copying it. New products only become visible after their transaction
+ * commits, so a rolled-back insert can never be used to price an order.
+ * */
+@Slf4j
+@Component
+public class ProductCatalog {
+
+  private final CatalogProperties properties;
+  private final ProductRepository productRepository;
+  private final AtomicReference<Map<Long, CatalogEntry>> snapshot = new AtomicReference<>(Map.of());
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder copies = new LongAdder();
+
+  public ProductCatalog(CatalogProperties properties, ProductRepository productRepository, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.productRepository = productRepository;
+
+    FunctionCounter.builder("catalog.cache.lookups", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder("catalog.cache.lookups", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("catalog.cache.size", this, ProductCatalog::size)
+        .register(meterRegistry);
+    FunctionCounter.builder("catalog.cache.copies", copies, LongAdder::sum)
+        .description("Snapshot copies made to admit or refresh products")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached entry, or null when the product is not cached or the
+   * catalog is disabled. A null result means "ask the database", not "does not exist".
+   */
+  public CatalogEntry get(Long id) {
+    if (!properties.enabled()) {
+      return null;
+    }
+    CatalogEntry entry = snapshot.get().get(id);
+    if (entry != null) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return entry;
+  }
+
+  /**
+   * Publishes products written in the current transaction once it commits.
+   * Outside a transaction they are published immediately.
+   */
+  public void publishAfterCommit(Collection<Product> products) {
+    if (!properties.enabled() || products.isEmpty()) {
+      return;
+    }
+    List<CatalogEntry> entries = products.stream().map(CatalogEntry::from).toList();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          admit(entries);
+        }
+      });
+    } else {
+      admit(entries);
+    }
+  }
+
+  /**
+   * Adds already-committed products, e.g. rows just read from the database on a miss.
+   */
+  public void admitLoaded(Collection<Product> products) {
+    if (!properties.enabled() || products.isEmpty()) {
+      return;
+    }
+    admit(products.stream().map(CatalogEntry::from).toList());
+  }
+
+  public int size() {
+    return snapshot.get().size();
+  }
+
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  public long missCount() {
+    return misses.sum();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!properties.enabled() || properties.maxSize() <= 0) {
+      return;
+    }
+    List<CatalogEntry> entries = productRepository.findSummariesAfter(0L, Limit.of(properties.maxSize())).stream()
+        .map(row -> new CatalogEntry(row.id(), row.name(), row.priceMinor(), row.version()))
+        .toList();
+    if (!entries.isEmpty()) {
+      admit(entries);
+    }
+    log.info("Product catalog snapshot warmed with {} products", size());
+  }
+
+  private void admit(List<CatalogEntry> entries) {
+    while (true) {
+      Map<Long, CatalogEntry> current = snapshot.get();
+      if (!changes(current, entries)) {
+        return;
+      }
+      Map<Long, CatalogEntry> next = new HashMap<>(current);
+      for (CatalogEntry entry : entries) {
+        // Bounded: once full, only existing keys are refreshed; the rest stay database-backed
+        if (next.size() < properties.maxSize() || next.containsKey(entry.id())) {
+          next.put(entry.id(), entry);
+        }
+      }
+      copies.increment();
+      if (snapshot.compareAndSet(current, Collections.unmodifiableMap(next))) {
+        return;
+      }
+    }
+  }
+
+  /** Whether admitting entries would add a key or replace a different entry. */
+  private boolean changes(Map<Long, CatalogEntry> current, List<CatalogEntry> entries) {
+    boolean full = current.size() >= properties.maxSize();
+    for (CatalogEntry entry : entries) {
+      CatalogEntry cached = current.get(entry.id());
+      if (cached == null ? !full : !cached.equals(entry)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
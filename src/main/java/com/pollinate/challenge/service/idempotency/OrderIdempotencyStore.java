@@ -0,0 +1,221 @@
+package com.pollinate.challenge.service.idempotency;
+
+import com.pollinate.challenge.config.IdempotencyProperties;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.domain.IdempotencyRecord;
+import com.pollinate.challenge.exception.ConflictException;
+import com.pollinate.challenge.exception.InvalidRequestException;
+import com.pollinate.challenge.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of {@code POST /api/orders} per principal and {@code Idempotency-Key}.
+ *
+ * <p>The first request for a key runs and publishes its response through a future; repeats
+ * within the TTL get that response without touching the database, and repeats that arrive
+ * while it is still running wait on the same future instead of creating a second order.
+ * Failed requests are forgotten so the client can retry them. Entries are evicted oldest
+ * first once they expire or the store is over its size bound; in-flight entries are never
+ * evicted.
+ *
+ * <p>Responses are either created orders or, with async intake, receipts. The two are
+ * fingerprinted apart, so a key first used in one mode conflicts in the other instead of
+ * replaying a response of the wrong shape.
+ */
+@Slf4j
+@Component
+public class OrderIdempotencyStore {
+
+  public static final int MAX_KEY_LENGTH = 255;
+
+  public record Outcome<T>(T response, boolean replayed) {
+  }
+
+  private static final class Entry {
+    final String scopedKey;
+    final String fingerprint;
+    final long createdAt = System.nanoTime();
+    final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    Entry(String scopedKey, String fingerprint) {
+      this.scopedKey = scopedKey;
+      this.fingerprint = fingerprint;
+    }
+  }
+
+  private final IdempotencyProperties properties;
+  private final IdempotencyRecordRepository recordRepository;
+  private final ObjectMapper objectMapper;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  // Insertion order doubles as expiry order because every entry has the same TTL
+  private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  public OrderIdempotencyStore(IdempotencyProperties properties,
+                               IdempotencyRecordRepository recordRepository,
+                               ObjectMapper objectMapper) {
+    this.properties = properties;
+    this.recordRepository = recordRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  public Outcome<OrderResponse> execute(String principal, String key, List<Long> productIds,
+                                       Supplier<OrderResponse> action) {
+    return execute(principal, key, productIds, OrderResponse.class, action);
+  }
+
+  public <T> Outcome<T> execute(String principal, String key, List<Long> productIds, Class<T> responseType,
+                                Supplier<T> action) {
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new InvalidRequestException("Invalid Idempotency-Key: must be 1 to " + MAX_KEY_LENGTH + " characters");
+    }
+    String scopedKey = principal + ':' + key;
+    String fingerprint = fingerprint(responseType, productIds);
+    evict();
+
+    while (true) {
+      Entry fresh = new Entry(scopedKey, fingerprint);
+      Entry existing = entries.putIfAbsent(scopedKey, fresh);
+      if (existing == null) {
+        insertionOrder.add(fresh);
+        return runFirst(fresh, responseType, action);
+      }
+      if (isExpired(existing) && existing.result.isDone()) {
+        entries.remove(scopedKey, existing);
+        continue;
+      }
+      if (!existing.fingerprint.equals(fingerprint)) {
+        throw new ConflictException("Idempotency-Key was already used for a different request");
+      }
+      return new Outcome<>(responseType.cast(await(existing)), true);
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  @Scheduled(fixedDelayString = "${challenge.idempotency.purge-interval:10m}")
+  public void purgeExpiredRecords() {
+    if (properties.persistent()) {
+      int purged = recordRepository.deleteCreatedBefore(Instant.now().minus(properties.ttl()));
+      log.debug("Purged {} expired idempotency records", purged);
+    }
+  }
+
+  private <T> Outcome<T> runFirst(Entry entry, Class<T> responseType, Supplier<T> action) {
+    try {
+      Optional<T> stored = loadRecord(entry, responseType);
+      if (stored.isPresent()) {
+        entry.result.complete(stored.get());
+        return new Outcome<>(stored.get(), true);
+      }
+      T response = action.get();
+      saveRecord(entry, response);
+      entry.result.complete(response);
+      return new Outcome<>(response, false);
+    } catch (RuntimeException ex) {
+      // Forget the key so a retry runs again; concurrent waiters see the same failure
+      entries.remove(entry.scopedKey, entry);
+      entry.result.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  private Object await(Entry entry) {
+    try {
+      return entry.result.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new ConflictException("A request with this Idempotency-Key is still being processed");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ConflictException("A request with this Idempotency-Key is still being processed");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  private <T> Optional<T> loadRecord(Entry entry, Class<T> responseType) {
+    if (!properties.persistent()) {
+      return Optional.empty();
+    }
+    Instant cutoff = Instant.now().minus(properties.ttl());
+    return recordRepository.findById(entry.scopedKey)
+        .filter(record -> record.getCreatedAt().isAfter(cutoff))
+        .map(record -> {
+          if (!record.getFingerprint().equals(entry.fingerprint)) {
+            throw new ConflictException("Idempotency-Key was already used for a different request");
+          }
+          return objectMapper.readValue(record.getResponse(), responseType);
+        });
+  }
+
+  private void saveRecord(Entry entry, Object response) {
+    if (!properties.persistent()) {
+      return;
+    }
+    try {
+      recordRepository.save(IdempotencyRecord.builder()
+          .scopedKey(entry.scopedKey)
+          .fingerprint(entry.fingerprint)
+          .response(objectMapper.writeValueAsString(response))
+          .createdAt(Instant.now())
+          .build());
+    } catch (DataAccessException ex) {
+      // The order is already committed; losing the durable copy only weakens cross-restart replay
+      log.warn("Could not persist idempotency record for key {}", entry.scopedKey, ex);
+    }
+  }
+
+  private void evict() {
+    Entry oldest;
+    while ((oldest = insertionOrder.peek()) != null
+        && oldest.result.isDone()
+        && (isExpired(oldest) || entries.size() > properties.maxEntries() || entries.get(oldest.scopedKey) != oldest)) {
+      if (insertionOrder.remove(oldest)) {
+        entries.remove(oldest.scopedKey, oldest);
+      }
+    }
+  }
+
+  private boolean isExpired(Entry entry) {
+    return System.nanoTime() - entry.createdAt >= properties.ttl().toNanos();
+  }
+
+  // Created orders keep the plain product list, so records stored before receipts existed still match
+  private static String fingerprint(Class<?> responseType, List<Long> productIds) {
+    String request = responseType == OrderResponse.class
+        ? String.valueOf(productIds)
+        : responseType.getSimpleName() + ':' + productIds;
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(request.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
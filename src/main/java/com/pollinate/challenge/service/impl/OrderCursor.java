@@ -0,0 +1,43 @@
+package com.pollinate.challenge.service.impl;
+
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last order on a page. Orders are listed by
+ * (createdAt, id) descending, so the pair uniquely identifies where the
+ * next page starts without an OFFSET scan.
+ */
+record OrderCursor(LocalDateTime createdAt, Long id) {
+
+  private static final String SEPARATOR = "|";
+
+  static OrderCursor of(Order order) {
+    return new OrderCursor(order.getCreatedAt(), order.getId());
+  }
+
+  String encode() {
+    String raw = createdAt + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static OrderCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int split = raw.lastIndexOf(SEPARATOR);
+      if (split < 0) {
+        throw new InvalidRequestException("Invalid cursor: " + token);
+      }
+      return new OrderCursor(
+          LocalDateTime.parse(raw.substring(0, split)),
+          Long.parseLong(raw.substring(split + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new InvalidRequestException("Invalid cursor: " + token);
+    }
+  }
+}
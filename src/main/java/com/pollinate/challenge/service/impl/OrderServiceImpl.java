@@ -1,91 +1,369 @@
 package com.pollinate.challenge.service.impl;
 
+import com.pollinate.challenge.config.OrderLinesProperties;
+import com.pollinate.challenge.controller.dto.OrderBatchResponse;
+import com.pollinate.challenge.controller.dto.OrderBatchResult;
+import com.pollinate.challenge.controller.dto.OrderLineResponse;
+import com.pollinate.challenge.controller.dto.OrderPageResponse;
+import com.pollinate.challenge.controller.dto.OrderReceipt;
 import com.pollinate.challenge.controller.dto.OrderRequest;
 import com.pollinate.challenge.controller.dto.OrderResponse;
-import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.domain.Money;
 import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
 import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.exception.ResourceNotFoundException;
 import com.pollinate.challenge.repository.OrderRepository;
 import com.pollinate.challenge.repository.ProductRepository;
 import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import com.pollinate.challenge.service.intake.AcceptedOrder;
+import com.pollinate.challenge.service.intake.OrderIntake;
+import com.pollinate.challenge.service.metrics.OrderMetrics;
+import com.pollinate.challenge.service.report.SalesRollup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+  static final int DEFAULT_PAGE_SIZE = 20;
+  static final int MAX_PAGE_SIZE = 100;
+  static final int MAX_BATCH_SIZE = 1000;
+
   private final OrderRepository orderRepository;
   private final ProductRepository productRepository;
+  private final ProductCatalog productCatalog;
+  private final OrderMetrics orderMetrics;
+  private final SalesRollup salesRollup;
+  private final OrderIntake orderIntake;
+  private final OrderLinesProperties linesProperties;
 
   @Transactional
   public OrderResponse createOrder(OrderRequest request) {
-    log.info("Attempting to create order for products: {}", request.getProductIds());
+    log.atInfo().addKeyValue("productCount", productIdCount(request)).log("Attempting to create order");
+    Order order = priceOrder(request, "createOrder");
 
-    // 1. Handle potential duplicates in request (Best Practice: Use a Set)
-    Set<Long> uniqueIds = Set.copyOf(request.getProductIds());
+    // 4. Persistence
+    Order savedOrder = orderMetrics.phase("createOrder", "persist")
+        .record(() -> orderRepository.save(order));
+    orderMetrics.recordAccepted(order.getLines().size(), order.getTotalPriceMinor());
+    salesRollup.recordAfterCommit(List.of(savedOrder));
+    log.atInfo()
+        .addKeyValue("orderId", savedOrder.getId())
+        .addKeyValue("totalMinor", savedOrder.getTotalPriceMinor())
+        .log("Order created successfully");
 
-    // 2. Business Rule: All product IDs must exist
-    List<Product> products = productRepository.findAllById(uniqueIds);
+    return mapToResponse(savedOrder);
+  }
+
+  /**
+   * Validates and prices the order like {@link #createOrder}, then hands it to the intake
+   * queue instead of saving it. Not transactional: a catalog hit needs no connection at all.
+   */
+  public OrderReceipt acceptOrder(OrderRequest request) {
+    log.atInfo().addKeyValue("productCount", productIdCount(request)).log("Attempting to accept order");
+    Order order = priceOrder(request, "acceptOrder");
 
-    if (products.size() != uniqueIds.size()) {
-      Set<Long> foundIds = products.stream().map(Product::getId).collect(Collectors.toSet());
-      List<Long> missingIds = uniqueIds.stream().filter(id -> !foundIds.contains(id)).toList();
+    AcceptedOrder accepted = orderIntake.submit(order);
+    orderMetrics.recordAccepted(order.getLines().size(), order.getTotalPriceMinor());
+    log.atInfo()
+        .addKeyValue("trackingId", accepted.trackingId())
+        .addKeyValue("totalMinor", accepted.totalPriceMinor())
+        .log("Order accepted");
+
+    return OrderReceipt.builder()
+        .trackingId(accepted.trackingId())
+        .status(OrderReceipt.Status.QUEUED)
+        .totalPrice(Money.toDecimal(accepted.totalPriceMinor()))
+        .acceptedAt(accepted.acceptedAt())
+        .build();
+  }
 
-      log.error("Order rejected: Missing product IDs: {}", missingIds);
-      throw new ResourceNotFoundException("Invalid Order: Product(s) not found: " + missingIds);
+  // Not read-only: the intake writer has no user for read-your-writes, so a replica could
+  // still miss an order it has just saved
+  @Transactional
+  public OrderReceipt getOrderReceipt(String trackingId) {
+    AcceptedOrder queued = orderIntake.pending(trackingId);
+    if (queued != null) {
+      return OrderReceipt.builder()
+          .trackingId(trackingId)
+          .status(OrderReceipt.Status.QUEUED)
+          .totalPrice(Money.toDecimal(queued.totalPriceMinor()))
+          .acceptedAt(queued.acceptedAt())
+          .build();
     }
+    return orderRepository.findByTrackingId(trackingId)
+        .map(order -> OrderReceipt.builder()
+            .trackingId(trackingId)
+            .status(OrderReceipt.Status.CREATED)
+            .orderId(order.getId())
+            .totalPrice(Money.toDecimal(order.getTotalPriceMinor()))
+            .acceptedAt(order.getCreatedAt())
+            .build())
+        .orElseThrow(() -> new ResourceNotFoundException("No order accepted with tracking ID: " + trackingId));
+  }
 
-    // 3. Business Rule: Total price must be calculated
-    BigDecimal total = products.stream()
-        .map(Product::getPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  @Transactional
+  public OrderBatchResponse createOrders(List<OrderRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      throw new InvalidRequestException("Invalid batch: must contain between 1 and " + MAX_BATCH_SIZE + " orders");
+    }
+    long totalIds = requests.stream().mapToLong(OrderServiceImpl::productIdCount).sum();
+    if (totalIds > linesProperties.maxProductIds()) {
+      throw new InvalidRequestException("Invalid batch: at most " + linesProperties.maxProductIds()
+          + " product IDs across all orders");
+    }
+    log.info("Attempting to create a batch of {} orders", requests.size());
 
-    // 4. Persistence
-    Order order = Order.builder()
-        .products(products)
-        .totalPrice(total)
-        .build();
+    // 1. Count each order's products, then resolve the union of their IDs once
+    OrderBatchResult[] results = new OrderBatchResult[requests.size()];
+    ProductQuantities[] quantities = new ProductQuantities[requests.size()];
+    for (int i = 0; i < requests.size(); i++) {
+      try {
+        quantities[i] = countProducts(requests.get(i).getProductIds());
+      } catch (InvalidRequestException ex) {
+        results[i] = rejected(i, ex.getMessage());
+      }
+    }
+    ResolvedProducts resolved = orderMetrics.phase("createOrders", "resolve")
+        .record(() -> resolveProducts(ProductQuantities.union(quantities)));
 
-    Order savedOrder = orderRepository.save(order);
-    log.info("Order created successfully with ID: {} and Total: {}", savedOrder.getId(), total);
+    // 2. Price every order in memory; an order with unknown products is rejected on its own
+    List<Order> accepted = new ArrayList<>(requests.size());
+    List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      long[] missingIds = resolved.missing(quantities[i]);
+      if (missingIds.length > 0) {
+        results[i] = rejected(i, ResolvedProducts.notFoundMessage(missingIds));
+        continue;
+      }
 
-    return mapToResponse(savedOrder);
+      Order order;
+      try {
+        order = toOrder(quantities[i], resolved);
+      } catch (InvalidRequestException ex) {
+        results[i] = rejected(i, ex.getMessage());
+        continue;
+      }
+      accepted.add(order);
+      orderMetrics.recordAccepted(order.getLines().size(), order.getTotalPriceMinor());
+      acceptedIndexes.add(i);
+    }
+
+    // 3. Persistence: sequence IDs let the order and order_lines inserts go out as JDBC batches
+    List<Order> savedOrders = orderMetrics.phase("createOrders", "persist")
+        .record(() -> orderRepository.saveAll(accepted));
+    salesRollup.recordAfterCommit(savedOrders);
+    for (int j = 0; j < savedOrders.size(); j++) {
+      Order saved = savedOrders.get(j);
+      results[acceptedIndexes.get(j)] = OrderBatchResult.builder()
+          .index(acceptedIndexes.get(j))
+          .status(OrderBatchResult.Status.CREATED)
+          .orderId(saved.getId())
+          .totalPrice(Money.toDecimal(saved.getTotalPriceMinor()))
+          .build();
+    }
+    log.info("Order batch processed: {} created, {} rejected",
+        savedOrders.size(), requests.size() - savedOrders.size());
+
+    return OrderBatchResponse.builder()
+        .created(savedOrders.size())
+        .rejected(requests.size() - savedOrders.size())
+        .results(List.of(results))
+        .build();
   }
 
   @Transactional(readOnly = true)
-  public List<OrderResponse> getAllOrders() {
-    return orderRepository.findAll().stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+  public OrderPageResponse getAllOrders(Integer limit, String cursor, LocalDateTime from, LocalDateTime to) {
+    int pageSize = resolvePageSize(limit);
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new InvalidRequestException("Invalid range: 'from' must be before 'to'");
+    }
+
+    // Fetch one extra row to learn whether another page exists without a COUNT query
+    Limit fetchLimit = Limit.of(pageSize + 1);
+    List<Order> orders;
+    if (cursor == null || cursor.isBlank()) {
+      orders = orderRepository.findFirstPage(from, to, fetchLimit);
+    } else {
+      OrderCursor position = OrderCursor.decode(cursor);
+      orders = orderRepository.findPageBefore(position.createdAt(), position.id(), from, to, fetchLimit);
+    }
+
+    boolean hasMore = orders.size() > pageSize;
+    List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+
+    // The keyset query cannot fetch-join a collection without paging in memory, so load
+    // lines for the whole page in one extra query. The orders are already managed in
+    // this persistence context, so their collections are initialised in place.
+    if (!page.isEmpty()) {
+      orderRepository.findWithLinesByIdIn(page.stream().map(Order::getId).toList());
+    }
+
+    return OrderPageResponse.builder()
+        .orders(page.stream().map(this::mapToResponse).toList())
+        .nextCursor(hasMore ? OrderCursor.of(page.get(page.size() - 1)).encode() : null)
+        .build();
   }
 
   @Transactional(readOnly = true)
   public OrderResponse getOrderById(Long id) {
-    return orderRepository.findById(id)
+    return orderRepository.findWithLinesById(id)
         .map(this::mapToResponse)
         .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
   }
 
+  /**
+   * Version for a conditional GET, or null if the order does not exist.
+   */
+  public Long getOrderVersion(Long id) {
+    return orderRepository.findVersionById(id).orElse(null);
+  }
+
+  /**
+   * Turns a request into an unsaved, priced order, or rejects it.
+   */
+  private Order priceOrder(OrderRequest request, String operation) {
+    // 1. A product ID given more than once becomes one line with a quantity
+    ProductQuantities quantities = countProducts(request.getProductIds());
+
+    // 2. Business Rule: All product IDs must exist
+    ResolvedProducts resolved = orderMetrics.phase(operation, "resolve")
+        .record(() -> resolveProducts(quantities));
+
+    long[] missingIds = resolved.missing(quantities);
+    if (missingIds.length > 0) {
+      String message = ResolvedProducts.notFoundMessage(missingIds);
+      log.error("Order rejected: {}", message);
+      throw new ResourceNotFoundException(message);
+    }
+
+    // 3. Business Rule: Lines snapshot the current name and price; the total is their sum
+    return toOrder(quantities, resolved);
+  }
+
+  // Logged instead of the IDs themselves, which can run to thousands per order
+  private static int productIdCount(OrderRequest request) {
+    return request.getProductIds() == null ? 0 : request.getProductIds().size();
+  }
+
+  private ProductQuantities countProducts(List<Long> productIds) {
+    if (productIds == null || productIds.isEmpty()) {
+      throw new InvalidRequestException("Invalid Order: no product IDs given");
+    }
+    if (productIds.size() > linesProperties.maxProductIds()) {
+      throw new InvalidRequestException("Invalid Order: at most " + linesProperties.maxProductIds()
+          + " product IDs per order");
+    }
+    return ProductQuantities.of(productIds);
+  }
+
+  /**
+   * Resolves product IDs to catalog entries, serving hits from the snapshot and loading the
+   * misses in sorted {@code IN} lists of at most {@code lookup-chunk-size} IDs, so a large
+   * order never becomes one huge statement. The chunks load one after another in the
+   * caller's transaction, so a request never takes a second connection. IDs left without an
+   * entry do not exist.
+   */
+  private ResolvedProducts resolveProducts(ProductQuantities ids) {
+    CatalogEntry[] entries = new CatalogEntry[ids.size()];
+    long[] misses = new long[ids.size()];
+    int missCount = 0;
+    for (int i = 0; i < ids.size(); i++) {
+      entries[i] = productCatalog.get(ids.id(i));
+      if (entries[i] == null) {
+        misses[missCount++] = ids.id(i);
+      }
+    }
+
+    if (missCount > 0) {
+      Arrays.sort(misses, 0, missCount);
+      int chunkSize = Math.max(1, linesProperties.lookupChunkSize());
+      List<Product> loaded = new ArrayList<>();
+      for (int start = 0; start < missCount; start += chunkSize) {
+        List<Long> chunk = new ArrayList<>(Math.min(chunkSize, missCount - start));
+        for (int i = start; i < Math.min(start + chunkSize, missCount); i++) {
+          chunk.add(misses[i]);
+        }
+        loaded.addAll(productRepository.findAllById(chunk));
+      }
+      productCatalog.admitLoaded(loaded);
+      for (Product product : loaded) {
+        entries[ids.indexOf(product.getId())] = CatalogEntry.from(product);
+      }
+    }
+    return new ResolvedProducts(ids, entries);
+  }
+
+  private Order toOrder(ProductQuantities quantities, ResolvedProducts resolved) {
+    Order order = new Order();
+    // Primitive minor-unit sum: no allocation per line, and overflow throws rather than wraps
+    long total = 0;
+    for (int i = 0; i < quantities.size(); i++) {
+      CatalogEntry product = resolved.get(quantities.id(i));
+      OrderLine line = OrderLine.builder()
+          .productId(product.id())
+          .productName(product.name())
+          .unitPriceMinor(product.priceMinor())
+          .quantity(quantities.quantity(i))
+          .build();
+      order.addLine(line);
+      try {
+        total = Math.addExact(total, line.lineTotalMinor());
+      } catch (ArithmeticException ex) {
+        throw new InvalidRequestException("Invalid Order: total exceeds the largest supported amount");
+      }
+    }
+    order.setTotalPriceMinor(total);
+    return order;
+  }
+
+  private OrderBatchResult rejected(int index, String error) {
+    return OrderBatchResult.builder()
+        .index(index)
+        .status(OrderBatchResult.Status.REJECTED)
+        .error(error)
+        .build();
+  }
+
+  private int resolvePageSize(Integer limit) {
+    if (limit == null) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new InvalidRequestException("Invalid limit: must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    return limit;
+  }
+
   private OrderResponse mapToResponse(Order order) {
     return OrderResponse.builder()
         .id(order.getId())
-        .totalPrice(order.getTotalPrice())
+        .totalPrice(Money.toDecimal(order.getTotalPriceMinor()))
         .createdAt(order.getCreatedAt())
-        .products(order.getProducts().stream()
-            .map(p -> ProductResponse.builder()
-                .id(p.getId())
-                .name(p.getName())
-                .price(p.getPrice())
+        .lines(order.getLines().stream()
+            .map(line -> OrderLineResponse.builder()
+                .productId(line.getProductId())
+                .name(line.getProductName())
+                .unitPrice(Money.toDecimal(line.getUnitPriceMinor()))
+                .quantity(line.getQuantity())
+                .lineTotal(Money.toDecimal(line.lineTotalMinor()))
                 .build())
             .toList())
         .build();
@@ -0,0 +1,102 @@
+package com.pollinate.challenge.service.impl;
+
+import com.pollinate.challenge.exception.InvalidRequestException;
+
+import java.util.List;
+
+/**
+ * The distinct product IDs of an order and how often each was requested, in the order they
+ * were first requested. IDs are unboxed once into an open-addressing table with linear
+ * probing, so a 10,000-line order costs a few arrays instead of a boxed map entry per line,
+ * and {@link #indexOf} lets other arrays be kept aligned with the IDs.
+ */
+final class ProductQuantities {
+
+  private final int[] slots;
+  private final long[] ids;
+  private final int[] counts;
+  private int size;
+
+  private ProductQuantities(int capacity) {
+    // At most half full, so probes stay short
+    slots = new int[Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1];
+    ids = new long[capacity];
+    counts = new int[capacity];
+  }
+
+  static ProductQuantities of(List<Long> productIds) {
+    ProductQuantities quantities = new ProductQuantities(productIds.size());
+    for (Long id : productIds) {
+      if (id == null) {
+        throw new InvalidRequestException("Invalid Order: product IDs must not be null");
+      }
+      quantities.add(id, 1);
+    }
+    return quantities;
+  }
+
+  /**
+   * The distinct IDs of several orders, with quantities summed across them; null entries
+   * are skipped.
+   */
+  static ProductQuantities union(ProductQuantities[] orders) {
+    int capacity = 0;
+    for (ProductQuantities order : orders) {
+      capacity += order == null ? 0 : order.size;
+    }
+    ProductQuantities union = new ProductQuantities(capacity);
+    for (ProductQuantities order : orders) {
+      for (int i = 0; order != null && i < order.size; i++) {
+        union.add(order.ids[i], order.counts[i]);
+      }
+    }
+    return union;
+  }
+
+  private void add(long id, int count) {
+    int mask = slots.length - 1;
+    int slot = hash(id) & mask;
+    while (slots[slot] != 0) {
+      int index = slots[slot] - 1;
+      if (ids[index] == id) {
+        counts[index] += count;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    ids[size] = id;
+    counts[size] = count;
+    slots[slot] = ++size;
+  }
+
+  private static int hash(long id) {
+    long mixed = id * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+
+  /** Position of {@code id} in first-requested order, or -1 if it was not requested. */
+  int indexOf(long id) {
+    int mask = slots.length - 1;
+    int slot = hash(id) & mask;
+    while (slots[slot] != 0) {
+      int index = slots[slot] - 1;
+      if (ids[index] == id) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long id(int index) {
+    return ids[index];
+  }
+
+  int quantity(int index) {
+    return counts[index];
+  }
+}
@@ -1,18 +1,43 @@
 package com.pollinate.challenge.service.impl;
 
+import com.pollinate.challenge.config.BulkImportProperties;
+import com.pollinate.challenge.config.ProductSearchProperties;
+import com.pollinate.challenge.controller.dto.BulkImportResponse;
+import com.pollinate.challenge.controller.dto.ImportBatchResult;
 import com.pollinate.challenge.controller.dto.ProductRequest;
 import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.controller.dto.ProductSearchResponse;
+import com.pollinate.challenge.domain.Money;
 import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.exception.ResourceNotFoundException;
+import com.pollinate.challenge.repository.CatalogState;
 import com.pollinate.challenge.repository.ProductRepository;
 import com.pollinate.challenge.service.ProductService;
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import com.pollinate.challenge.service.search.ProductSearchQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,6 +46,11 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
   private final ProductRepository productRepository;
+  private final ProductCatalog productCatalog;
+  private final TransactionTemplate transactionTemplate;
+  private final BulkImportProperties importProperties;
+  private final ProductSearchIndex searchIndex;
+  private final ProductSearchProperties searchProperties;
 
   @Override
   @Transactional
@@ -29,10 +59,12 @@ public class ProductServiceImpl implements ProductService {
 
     Product product = Product.builder()
         .name(request.getName())
-        .price(request.getPrice())
+        .priceMinor(toPriceMinor(request.getPrice()))
         .build();
 
     Product savedProduct = productRepository.save(product);
+    productCatalog.publishAfterCommit(List.of(savedProduct));
+    searchIndex.indexAfterCommit(List.of(savedProduct));
     return mapToResponse(savedProduct);
   }
 
@@ -52,11 +84,256 @@ public class ProductServiceImpl implements ProductService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Served from the in-memory search index when it is built; otherwise from the database,
+   * where the price index narrows a price range and the name index orders a name sort, but
+   * a name filter scans every row. Deliberately not transactional, so an index hit does not
+   * borrow a connection.
+   */
+  @Override
+  public ProductSearchResponse searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                              String sort, Integer page, Integer size) {
+    ProductSearchQuery query = resolveSearchQuery(name, minPrice, maxPrice, sort, page, size);
+
+    ProductSearchIndex.Result indexed = searchIndex.search(query);
+    List<ProductResponse> products;
+    long total;
+    if (indexed != null) {
+      products = indexed.products().stream().map(this::mapToResponse).toList();
+      total = indexed.total();
+    } else {
+      Page<Product> found = searchDatabase(query);
+      products = found.getContent().stream().map(this::mapToResponse).toList();
+      total = found.getTotalElements();
+    }
+    return ProductSearchResponse.builder()
+        .products(products)
+        .page(query.page())
+        .size(query.size())
+        .total(total)
+        .build();
+  }
+
+  /**
+   * Version for a conditional GET, or null if the product does not exist. Served from the
+   * catalog snapshot when possible; otherwise a scalar query, never an entity load.
+   * Deliberately not transactional, so a snapshot hit does not borrow a connection.
+   */
+  @Override
+  public Long getProductVersion(Long id) {
+    CatalogEntry cached = productCatalog.get(id);
+    if (cached != null && cached.version() != null) {
+      return cached.version();
+    }
+    return productRepository.findVersionById(id).orElse(null);
+  }
+
+  /**
+   * Count, highest ID and version sum of the products table. Derived from persisted rows
+   * rather than a per-instance counter, so instances agree and a write through any of them
+   * changes the value; one aggregate query, no entities loaded.
+   */
+  @Override
+  public String getCatalogVersion() {
+    CatalogState state = productRepository.findCatalogState();
+    return state.count() + "-" + state.maxId() + "-" + state.versionSum();
+  }
+
+  /**
+   * Persists a stream of products in fixed-size batches, one transaction per batch,
+   * so memory use is bounded by the batch size rather than the size of the upload.
+   * A failed batch is rolled back on its own and does not stop the import.
+   */
+  @Override
+  public BulkImportResponse importProducts(Iterator<ProductRequest> requests) {
+    int batchSize = Math.max(1, importProperties.batchSize());
+    List<ImportBatchResult> results = new ArrayList<>();
+    List<ProductRequest> batch = new ArrayList<>(batchSize);
+    String streamError = null;
+
+    try {
+      while (requests.hasNext()) {
+        batch.add(requests.next());
+        if (batch.size() == batchSize) {
+          results.add(importBatch(results.size() + 1, batch));
+          batch.clear();
+        }
+      }
+    } catch (InvalidRequestException ex) {
+      log.warn("Bulk import stopped early: {}", ex.getMessage());
+      streamError = ex.getMessage();
+    }
+    if (!batch.isEmpty()) {
+      results.add(importBatch(results.size() + 1, batch));
+    }
+
+    int imported = results.stream()
+        .filter(r -> r.getStatus() == ImportBatchResult.Status.IMPORTED)
+        .mapToInt(ImportBatchResult::getSize)
+        .sum();
+    int failed = results.stream()
+        .filter(r -> r.getStatus() == ImportBatchResult.Status.FAILED)
+        .mapToInt(ImportBatchResult::getSize)
+        .sum();
+    log.info("Bulk import finished: {} imported, {} failed in {} batches", imported, failed, results.size());
+
+    return BulkImportResponse.builder()
+        .imported(imported)
+        .failed(failed)
+        .batches(results)
+        .error(streamError)
+        .build();
+  }
+
+  private ImportBatchResult importBatch(int batchNumber, List<ProductRequest> batch) {
+    ImportBatchResult.ImportBatchResultBuilder result = ImportBatchResult.builder()
+        .batch(batchNumber)
+        .size(batch.size());
+
+    for (int i = 0; i < batch.size(); i++) {
+      ProductRequest request = batch.get(i);
+      if (request.getName() == null || request.getName().isBlank() || request.getPrice() == null) {
+        return result.status(ImportBatchResult.Status.FAILED)
+            .error("Item " + (i + 1) + ": name and price are required")
+            .build();
+      }
+      if (!isValidPrice(request.getPrice())) {
+        return result.status(ImportBatchResult.Status.FAILED)
+            .error("Item " + (i + 1) + ": price must have at most " + Money.SCALE + " decimal places")
+            .build();
+      }
+    }
+
+    try {
+      List<Product> saved = transactionTemplate.execute(status -> {
+        List<Product> persisted = productRepository.saveAll(batch.stream()
+            .map(request -> Product.builder()
+                .name(request.getName())
+                .priceMinor(Money.toMinorUnits(request.getPrice()))
+                .build())
+            .toList());
+        productCatalog.publishAfterCommit(persisted);
+        searchIndex.indexAfterCommit(persisted);
+        return persisted;
+      });
+      return result.status(ImportBatchResult.Status.IMPORTED)
+          .firstId(saved.get(0).getId())
+          .lastId(saved.get(saved.size() - 1).getId())
+          .build();
+    } catch (DataAccessException ex) {
+      log.error("Bulk import batch {} failed", batchNumber, ex);
+      return result.status(ImportBatchResult.Status.FAILED)
+          .error(ex.getMostSpecificCause().getMessage())
+          .build();
+    }
+  }
+
+  private ProductSearchQuery resolveSearchQuery(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                String sort, Integer page, Integer size) {
+    if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+      throw new InvalidRequestException("Invalid price range: 'minPrice' must not exceed 'maxPrice'");
+    }
+    // Bounds round inwards to whole minor units, since every stored price is one
+    Long minPriceMinor;
+    Long maxPriceMinor;
+    try {
+      minPriceMinor = minPrice == null ? null : Money.toMinorUnits(minPrice, RoundingMode.CEILING);
+      maxPriceMinor = maxPrice == null ? null : Money.toMinorUnits(maxPrice, RoundingMode.FLOOR);
+    } catch (ArithmeticException ex) {
+      throw new InvalidRequestException("Invalid price range: bounds exceed the largest supported amount");
+    }
+    int pageSize = size == null ? searchProperties.defaultPageSize() : size;
+    if (pageSize < 1 || pageSize > searchProperties.maxPageSize()) {
+      throw new InvalidRequestException("Invalid size: must be between 1 and " + searchProperties.maxPageSize());
+    }
+    int pageNumber = page == null ? 0 : page;
+    if (pageNumber < 0 || ((long) pageNumber + 1) * pageSize > searchProperties.maxResultWindow()) {
+      throw new InvalidRequestException("Invalid page: results are available up to position "
+          + searchProperties.maxResultWindow());
+    }
+
+    // "field" or "field,asc|desc", as in Spring Data's sort parameter
+    ProductSearchQuery.SortField sortField = ProductSearchQuery.SortField.ID;
+    boolean descending = false;
+    if (sort != null && !sort.isBlank()) {
+      String[] parts = sort.split(",", -1);
+      try {
+        sortField = ProductSearchQuery.SortField.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException ex) {
+        throw new InvalidRequestException("Invalid sort: must be one of id, name, price");
+      }
+      if (parts.length > 2 || (parts.length == 2 && !parts[1].trim().matches("(?i)asc|desc"))) {
+        throw new InvalidRequestException("Invalid sort direction: must be asc or desc");
+      }
+      descending = parts.length == 2 && parts[1].trim().equalsIgnoreCase("desc");
+    }
+
+    return new ProductSearchQuery(ProductSearchQuery.tokenize(name), minPriceMinor, maxPriceMinor,
+        sortField, descending, pageNumber, pageSize);
+  }
+
+  /**
+   * The same query in SQL. Word prefixes are matched at the start of the name or after a
+   * space, which covers names whose words are separated by spaces. No B-tree index serves a
+   * lower-cased or infix LIKE, so with a name filter this is a full scan; it only has to
+   * carry searches while the index builds or when it is off.
+   */
+  private Page<Product> searchDatabase(ProductSearchQuery query) {
+    Specification<Product> matches = (root, criteria, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      Expression<String> lowerName = cb.lower(root.get("name"));
+      for (String token : query.tokens()) {
+        predicates.add(cb.or(cb.like(lowerName, token + "%"), cb.like(lowerName, "% " + token + "%")));
+      }
+      if (query.minPrice() != null) {
+        predicates.add(cb.greaterThanOrEqualTo(root.get("priceMinor"), query.minPrice()));
+      }
+      if (query.maxPrice() != null) {
+        predicates.add(cb.lessThanOrEqualTo(root.get("priceMinor"), query.maxPrice()));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+    Sort.Direction direction = query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    Sort order = Sort.by(direction, query.sort().property());
+    if (query.sort() != ProductSearchQuery.SortField.ID) {
+      order = order.and(Sort.by(direction, "id"));
+    }
+    return productRepository.findAll(matches, PageRequest.of(query.page(), query.size(), order));
+  }
+
+  private static long toPriceMinor(BigDecimal price) {
+    if (price == null) {
+      throw new InvalidRequestException("Invalid Product: 'price' is required");
+    }
+    if (!isValidPrice(price)) {
+      throw new InvalidRequestException("Invalid Product: 'price' must have at most " + Money.SCALE
+          + " decimal places and fit the supported range");
+    }
+    return Money.toMinorUnits(price);
+  }
+
+  private static boolean isValidPrice(BigDecimal price) {
+    try {
+      Money.toMinorUnits(price);
+      return true;
+    } catch (ArithmeticException ex) {
+      return false;
+    }
+  }
+
+  private ProductResponse mapToResponse(CatalogEntry entry) {
+    return ProductResponse.builder()
+        .id(entry.id())
+        .name(entry.name())
+        .price(Money.toDecimal(entry.priceMinor()))
+        .build();
+  }
+
   private ProductResponse mapToResponse(Product product) {
     return ProductResponse.builder()
         .id(product.getId())
         .name(product.getName())
-        .price(product.getPrice())
+        .price(Money.toDecimal(product.getPriceMinor()))
         .build();
   }
 }
\ No newline at end of file
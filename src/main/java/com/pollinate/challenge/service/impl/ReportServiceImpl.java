@@ -0,0 +1,107 @@
+package com.pollinate.challenge.service.impl;
+
+import com.pollinate.challenge.controller.dto.SalesRebuildResponse;
+import com.pollinate.challenge.controller.dto.SalesReportResponse;
+import com.pollinate.challenge.controller.dto.SalesReportRow;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.exception.InvalidRequestException;
+import com.pollinate.challenge.service.ReportService;
+import com.pollinate.challenge.service.report.SalesRollup;
+import com.pollinate.challenge.service.report.SalesTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+  private final SalesRollup salesRollup;
+
+  /**
+   * Reads the rollups only: cost depends on the number of products or time buckets, not orders.
+   * The range applies to day and hour buckets by their start time, and the totals then cover
+   * the listed buckets. Product buckets are all-time, so a range is refused for them.
+   */
+  @Override
+  public SalesReportResponse getSales(String groupBy, LocalDateTime from, LocalDateTime to) {
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new InvalidRequestException("Invalid range: 'from' must be before 'to'");
+    }
+    String grouping = groupBy == null ? "product" : groupBy;
+    if (grouping.equals("product") && (from != null || to != null)) {
+      throw new InvalidRequestException("Invalid range: 'from' and 'to' apply to groupBy=day or hour only");
+    }
+
+    List<Map.Entry<String, SalesTotals>> buckets = switch (grouping) {
+      case "product" -> salesRollup.byProduct().entrySet().stream()
+          .sorted(Comparator.comparingLong((Map.Entry<Long, SalesTotals> entry) -> entry.getValue().revenueMinor())
+              .reversed())
+          .map(entry -> Map.entry(entry.getKey().toString(), entry.getValue()))
+          .toList();
+      case "day" -> salesRollup.byDay().entrySet().stream()
+          .filter(entry -> inRange(entry.getKey().atStartOfDay(), from, to))
+          .sorted(Map.Entry.comparingByKey())
+          .map(entry -> Map.entry(entry.getKey().toString(), entry.getValue()))
+          .toList();
+      case "hour" -> salesRollup.byHour().entrySet().stream()
+          .filter(entry -> inRange(entry.getKey(), from, to))
+          .sorted(Map.Entry.comparingByKey())
+          .map(entry -> Map.entry(entry.getKey().toString(), entry.getValue()))
+          .toList();
+      default -> throw new InvalidRequestException("Invalid groupBy: must be one of product, day, hour");
+    };
+
+    // An order counts in every product bucket it has a line in, but in exactly one day or hour
+    long totalOrders = 0;
+    long totalRevenueMinor = 0;
+    if (grouping.equals("product")) {
+      SalesTotals overall = salesRollup.overall();
+      totalOrders = overall.orders();
+      totalRevenueMinor = overall.revenueMinor();
+    } else {
+      for (Map.Entry<String, SalesTotals> bucket : buckets) {
+        totalOrders += bucket.getValue().orders();
+        totalRevenueMinor += bucket.getValue().revenueMinor();
+      }
+    }
+    return SalesReportResponse.builder()
+        .groupBy(grouping)
+        .totalOrders(totalOrders)
+        .totalRevenue(Money.toDecimal(totalRevenueMinor))
+        .rows(buckets.stream().map(bucket -> toRow(bucket.getKey(), bucket.getValue())).toList())
+        .build();
+  }
+
+  @Override
+  public SalesRebuildResponse rebuildSales() {
+    log.info("Rebuilding sales rollups from the order tables");
+    SalesRollup.RebuildResult result = salesRollup.rebuild();
+    return SalesRebuildResponse.builder()
+        .orders(result.orders())
+        .chunks(result.chunks())
+        .replayed(result.replayed())
+        .elapsedMillis(result.elapsed().toMillis())
+        .build();
+  }
+
+  private static boolean inRange(LocalDateTime bucket, LocalDateTime from, LocalDateTime to) {
+    return (from == null || !bucket.isBefore(from)) && (to == null || bucket.isBefore(to));
+  }
+
+  private static SalesReportRow toRow(String key, SalesTotals totals) {
+    return SalesReportRow.builder()
+        .key(key)
+        .name(totals.label())
+        .orders(totals.orders())
+        .units(totals.units())
+        .revenue(Money.toDecimal(totals.revenueMinor()))
+        .build();
+  }
+}
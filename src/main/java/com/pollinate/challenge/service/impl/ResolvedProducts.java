@@ -0,0 +1,48 @@
+package com.pollinate.challenge.service.impl;
+
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Catalog entries for a set of product IDs; {@code entries[i]} belongs to {@code ids.id(i)}
+ * and is null when that product does not exist.
+ */
+record ResolvedProducts(ProductQuantities ids, CatalogEntry[] entries) {
+
+  // Not-found messages list this many IDs and count the rest
+  private static final int MAX_REPORTED_IDS = 20;
+
+  CatalogEntry get(long id) {
+    int index = ids.indexOf(id);
+    return index < 0 ? null : entries[index];
+  }
+
+  /**
+   * The products of {@code order} without an entry, as sorted IDs.
+   */
+  long[] missing(ProductQuantities order) {
+    long[] missing = new long[order.size()];
+    int count = 0;
+    for (int i = 0; i < order.size(); i++) {
+      if (get(order.id(i)) == null) {
+        missing[count++] = order.id(i);
+      }
+    }
+    missing = Arrays.copyOf(missing, count);
+    Arrays.sort(missing);
+    return missing;
+  }
+
+  static String notFoundMessage(long[] missingIds) {
+    StringJoiner listed = new StringJoiner(", ", "[", "]");
+    for (int i = 0; i < Math.min(missingIds.length, MAX_REPORTED_IDS); i++) {
+      listed.add(Long.toString(missingIds[i]));
+    }
+    String more = missingIds.length > MAX_REPORTED_IDS
+        ? " and " + (missingIds.length - MAX_REPORTED_IDS) + " more"
+        : "";
+    return "Invalid Order: Product(s) not found: " + listed + more;
+  }
+}
@@ -0,0 +1,41 @@
+package com.pollinate.challenge.service.intake;
+
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A priced order that was accepted but not yet persisted, in the form written to the
+ * intake journal. Lines carry the price snapshot taken at acceptance, so a replay after a
+ * restart stores exactly what the client was told.
+ */
+public record AcceptedOrder(String trackingId, LocalDateTime acceptedAt, long totalPriceMinor, List<Line> lines) {
+
+  public record Line(Long productId, String productName, long unitPriceMinor, int quantity) {
+  }
+
+  static AcceptedOrder of(String trackingId, LocalDateTime acceptedAt, Order order) {
+    return new AcceptedOrder(trackingId, acceptedAt, order.getTotalPriceMinor(), order.getLines().stream()
+        .map(line -> new Line(line.getProductId(), line.getProductName(), line.getUnitPriceMinor(), line.getQuantity()))
+        .toList());
+  }
+
+  Order toOrder() {
+    Order order = Order.builder()
+        .trackingId(trackingId)
+        .createdAt(acceptedAt)
+        .totalPriceMinor(totalPriceMinor)
+        .build();
+    for (Line line : lines) {
+      order.addLine(OrderLine.builder()
+          .productId(line.productId())
+          .productName(line.productName())
+          .unitPriceMinor(line.unitPriceMinor())
+          .quantity(line.quantity())
+          .build());
+    }
+    return order;
+  }
+}
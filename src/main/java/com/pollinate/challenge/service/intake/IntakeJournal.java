@@ -0,0 +1,225 @@
+package com.pollinate.challenge.service.intake;
+
+import com.pollinate.challenge.domain.Money;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of accepted orders, one JSON record per line. An order is appended before
+ * the client gets its {@code 202}; a marker listing tracking IDs is appended once their batch
+ * has committed. Whenever every accepted order has been persisted the file is truncated, so it
+ * only grows while the writer is behind.
+ *
+ * <p>With {@code fsync} on, {@link #append} returns only once its record is forced to disk.
+ * Appends that arrive while a force is running are covered together by the next one, so
+ * concurrent requests share a flush instead of each queueing behind its own.
+ *
+ * <p>{@link #open()} replays the file and rewrites it with only the outstanding orders. That
+ * also drops a record torn by a crash mid-write, which would otherwise corrupt the next one.
+ * A lost marker is harmless: replayed orders are checked against the database by tracking ID.
+ */
+@Slf4j
+public class IntakeJournal implements Closeable {
+
+  record Entry(Accepted accepted, List<String> persisted) {
+  }
+
+  /**
+   * An accepted order as written to the file. Amounts are decimals, as in request and
+   * response bodies, so the record format does not depend on the in-memory representation.
+   */
+  record Accepted(String trackingId, LocalDateTime acceptedAt, BigDecimal totalPrice, List<Line> lines) {
+
+    record Line(Long productId, String productName, BigDecimal unitPrice, int quantity) {
+    }
+
+    static Accepted of(AcceptedOrder order) {
+      return new Accepted(order.trackingId(), order.acceptedAt(), Money.toDecimal(order.totalPriceMinor()),
+          order.lines().stream()
+              .map(line -> new Line(line.productId(), line.productName(), Money.toDecimal(line.unitPriceMinor()),
+                  line.quantity()))
+              .toList());
+    }
+
+    AcceptedOrder toAcceptedOrder() {
+      return new AcceptedOrder(trackingId, acceptedAt, Money.toMinorUnits(totalPrice), lines.stream()
+          .map(line -> new AcceptedOrder.Line(line.productId(), line.productName(),
+              Money.toMinorUnits(line.unitPrice()), line.quantity()))
+          .toList());
+    }
+  }
+
+  private final Path path;
+  private final boolean fsync;
+  private final ObjectMapper objectMapper;
+  private final Object forceLock = new Object();
+  private FileChannel channel;
+  private int outstanding;
+  // Records appended so far; guarded by this
+  private long appended;
+  // Records known to be on disk, whether a force is running, and forces made; guarded by forceLock
+  private long forced;
+  private boolean forcing;
+  private long forces;
+
+  public IntakeJournal(Path path, boolean fsync, ObjectMapper objectMapper) {
+    this.path = path;
+    this.fsync = fsync;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Opens the journal for appending and returns the orders it holds that were never marked
+   * persisted, in acceptance order.
+   */
+  public synchronized List<AcceptedOrder> open() throws IOException {
+    Map<String, AcceptedOrder> pending = new LinkedHashMap<>();
+    if (Files.exists(path)) {
+      try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.isBlank()) {
+            continue;
+          }
+          Entry entry;
+          try {
+            entry = objectMapper.readValue(line, Entry.class);
+          } catch (JacksonException e) {
+            log.warn("Skipping unreadable intake journal record in {}", path);
+            continue;
+          }
+          if (entry.accepted() != null) {
+            pending.put(entry.accepted().trackingId(), entry.accepted().toAcceptedOrder());
+          }
+          if (entry.persisted() != null) {
+            entry.persisted().forEach(pending::remove);
+          }
+        }
+      }
+    }
+
+    Path parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path compacted = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+      for (AcceptedOrder order : pending.values()) {
+        write(out, new Entry(Accepted.of(order), null));
+      }
+      out.force(true);
+    }
+    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    outstanding = pending.size();
+    return new ArrayList<>(pending.values());
+  }
+
+  public void append(AcceptedOrder order) throws IOException {
+    long seq;
+    synchronized (this) {
+      write(channel, new Entry(Accepted.of(order), null));
+      outstanding++;
+      seq = ++appended;
+    }
+    if (fsync) {
+      awaitForced(seq);
+    }
+  }
+
+  /**
+   * Number of times appended records have been forced to disk.
+   */
+  public long forces() {
+    synchronized (forceLock) {
+      return forces;
+    }
+  }
+
+  /**
+   * Records that these orders are in the database. Not forced to disk: losing a marker
+   * only means the order is looked up again on replay.
+   */
+  public synchronized void markPersisted(Collection<String> trackingIds) throws IOException {
+    outstanding -= trackingIds.size();
+    if (outstanding <= 0) {
+      outstanding = 0;
+      channel.truncate(0);
+    } else {
+      write(channel, new Entry(null, List.copyOf(trackingIds)));
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  /**
+   * Returns once record {@code seq} is on disk. The first caller to find no force running
+   * forces everything appended so far; the others wait for it and return if it covered them.
+   */
+  private void awaitForced(long seq) throws IOException {
+    synchronized (forceLock) {
+      while (forced < seq && forcing) {
+        try {
+          forceLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted waiting for the intake journal to be forced");
+        }
+      }
+      if (forced >= seq) {
+        return;
+      }
+      forcing = true;
+    }
+    long target;
+    synchronized (this) {
+      target = appended;
+    }
+    boolean done = false;
+    try {
+      channel.force(false);
+      done = true;
+    } finally {
+      synchronized (forceLock) {
+        forcing = false;
+        if (done) {
+          forced = Math.max(forced, target);
+          forces++;
+        }
+        forceLock.notifyAll();
+      }
+    }
+  }
+
+  private void write(FileChannel target, Entry entry) throws IOException {
+    byte[] json = objectMapper.writeValueAsBytes(entry);
+    ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package com.pollinate.challenge.service.intake;
+
+import com.pollinate.challenge.config.OrderIntakeProperties;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.exception.ServiceUnavailableException;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.service.report.SalesRollup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind pipeline for async order intake.
+ *
+ * <p>{@link #submit} journals a priced order, queues it and returns at once; a single writer
+ * thread drains the queue and saves up to {@code batchSize} orders per transaction. The queue
+ * is bounded by {@code queueCapacity}, and a full queue is reported as
+ * {@link ServiceUnavailableException} rather than blocking the request thread.
+ *
+ * <p>Orders leave the in-memory pending set only after their batch commits, so a status
+ * lookup sees either the queued order or the saved one. A failed batch is retried with
+ * backoff and never dropped; orders still queued at shutdown stay in the journal and are
+ * replayed on the next start.
+ */
+@Slf4j
+@Component
+public class OrderIntake {
+
+  private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final OrderIntakeProperties properties;
+  private final OrderRepository orderRepository;
+  private final SalesRollup salesRollup;
+  private final TransactionTemplate transactionTemplate;
+  private final IntakeJournal journal;
+  private final BlockingQueue<AcceptedOrder> queue = new LinkedBlockingQueue<>();
+  private final ConcurrentMap<String, AcceptedOrder> pending = new ConcurrentHashMap<>();
+  // Counts queued plus in-flight orders; replayed orders may push it past the capacity
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final Counter rejected;
+  private final Timer batches;
+  private volatile boolean running;
+  private Thread writer;
+
+  public OrderIntake(OrderIntakeProperties properties,
+                     OrderRepository orderRepository,
+                     SalesRollup salesRollup,
+                     PlatformTransactionManager transactionManager,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.orderRepository = orderRepository;
+    this.salesRollup = salesRollup;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.journal = new IntakeJournal(properties.journal(), properties.fsync(), objectMapper);
+
+    Gauge.builder("order.intake.queued", outstanding, AtomicInteger::get)
+        .register(meterRegistry);
+    FunctionCounter.builder("order.intake.journal.forces", journal, IntakeJournal::forces)
+        .description("Disk flushes of the intake journal; concurrent accepts share one")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("order.intake.rejected")
+        .description("Orders refused with 503 because the intake queue was full")
+        .register(meterRegistry);
+    this.batches = Timer.builder("order.intake.batch")
+        .description("Time to persist one batch of accepted orders")
+        .register(meterRegistry);
+  }
+
+  public boolean enabled() {
+    return properties.enabled();
+  }
+
+  /**
+   * Journals and queues a priced, not yet persisted order. Once this returns the order
+   * will be saved, even across a restart.
+   */
+  public AcceptedOrder submit(Order order) {
+    if (!running) {
+      throw new ServiceUnavailableException("Order intake is not accepting orders");
+    }
+    if (outstanding.incrementAndGet() > properties.queueCapacity()) {
+      outstanding.decrementAndGet();
+      rejected.increment();
+      throw new ServiceUnavailableException("Order intake queue is full, retry later");
+    }
+
+    AcceptedOrder accepted = AcceptedOrder.of(UUID.randomUUID().toString(), LocalDateTime.now(), order);
+    try {
+      journal.append(accepted);
+    } catch (IOException e) {
+      outstanding.decrementAndGet();
+      throw new UncheckedIOException("Could not journal accepted order", e);
+    }
+    pending.put(accepted.trackingId(), accepted);
+    queue.add(accepted);
+    return accepted;
+  }
+
+  /**
+   * The accepted order while it is waiting to be saved, otherwise null.
+   */
+  public AcceptedOrder pending(String trackingId) {
+    return pending.get(trackingId);
+  }
+
+  public int queued() {
+    return outstanding.get();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() throws IOException {
+    if (!properties.enabled()) {
+      return;
+    }
+    List<AcceptedOrder> recovered = journal.open();
+    outstanding.addAndGet(recovered.size());
+    List<AcceptedOrder> replayed = withoutPersisted(recovered);
+    for (AcceptedOrder order : replayed) {
+      pending.put(order.trackingId(), order);
+      queue.add(order);
+    }
+    if (!replayed.isEmpty()) {
+      log.info("Replaying {} accepted orders from {}", replayed.size(), properties.journal());
+    }
+
+    running = true;
+    writer = Thread.ofPlatform().name("order-intake-writer").start(this::drain);
+  }
+
+  @PreDestroy
+  public void stop() throws IOException, InterruptedException {
+    if (writer == null) {
+      return;
+    }
+    running = false;
+    writer.join(properties.shutdownTimeout().toMillis());
+    if (writer.isAlive()) {
+      log.warn("{} accepted orders not persisted at shutdown; they will be replayed on the next start",
+          outstanding.get());
+      writer.interrupt();
+      writer.join();
+    }
+    journal.close();
+  }
+
+  private void drain() {
+    List<AcceptedOrder> batch = new ArrayList<>(properties.batchSize());
+    try {
+      while (running || !queue.isEmpty()) {
+        AcceptedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, properties.batchSize() - 1);
+        persistWithRetry(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void persistWithRetry(List<AcceptedOrder> batch) throws InterruptedException {
+    Duration backoff = properties.retryBackoff();
+    List<AcceptedOrder> remaining = batch;
+    while (true) {
+      try {
+        persist(remaining);
+        return;
+      } catch (RuntimeException e) {
+        log.error("Failed to persist {} accepted orders, retrying in {}", remaining.size(), backoff, e);
+        Thread.sleep(backoff.toMillis());
+        backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        // The failure may have come after the commit; never insert a tracking ID twice
+        try {
+          remaining = withoutPersisted(remaining);
+        } catch (RuntimeException lookupFailure) {
+          log.warn("Could not check which accepted orders were saved", lookupFailure);
+        }
+      }
+    }
+  }
+
+  private void persist(List<AcceptedOrder> batch) {
+    if (!batch.isEmpty()) {
+      batches.record(() -> transactionTemplate.executeWithoutResult(status -> {
+        List<Order> saved = orderRepository.saveAll(batch.stream().map(AcceptedOrder::toOrder).toList());
+        salesRollup.recordAfterCommit(saved);
+      }));
+    }
+    completed(batch);
+  }
+
+  /**
+   * Drops orders whose tracking ID is already in the database and marks them persisted.
+   */
+  private List<AcceptedOrder> withoutPersisted(List<AcceptedOrder> orders) {
+    if (orders.isEmpty()) {
+      return orders;
+    }
+    Set<String> saved = new HashSet<>(orderRepository.findTrackingIdsIn(
+        orders.stream().map(AcceptedOrder::trackingId).toList()));
+    if (saved.isEmpty()) {
+      return orders;
+    }
+    completed(orders.stream().filter(order -> saved.contains(order.trackingId())).toList());
+    return orders.stream().filter(order -> !saved.contains(order.trackingId())).toList();
+  }
+
+  private void completed(List<AcceptedOrder> orders) {
+    if (orders.isEmpty()) {
+      return;
+    }
+    List<String> trackingIds = orders.stream().map(AcceptedOrder::trackingId).toList();
+    try {
+      journal.markPersisted(trackingIds);
+    } catch (IOException e) {
+      log.warn("Could not mark {} orders persisted in the intake journal", trackingIds.size(), e);
+    }
+    trackingIds.forEach(pending::remove);
+    outstanding.addAndGet(-trackingIds.size());
+  }
+}
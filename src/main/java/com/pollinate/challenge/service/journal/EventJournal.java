@@ -0,0 +1,368 @@
+package com.pollinate.challenge.service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of {@link JournalEvent}s in fixed-size, memory-mapped segment files.
+ *
+ * <p>Appending copies the encoded record into the mapped segment, which costs no system
+ * call. A single flusher thread forces dirty ranges to disk and advances the durable
+ * sequence; {@link #awaitDurable} blocks until a given record is covered. Every commit
+ * that arrives while a force is running is covered by the next force, so concurrent
+ * commits share the disk flush (group commit).
+ *
+ * <p>Record layout: payload length (int), sequence (long), event type (byte), payload, and
+ * a CRC32C of sequence, type and payload. A segment ends at a zero length. A torn or
+ * corrupt record ends its segment during {@link #replay}; appends after a restart always
+ * start a new segment, so later segments are still read. Trailing segments without a single
+ * valid record, left by a crash right after a roll, are deleted during replay so the next
+ * segment can take their name.
+ */
+@Slf4j
+public class EventJournal implements Closeable {
+
+  private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Byte.BYTES;
+  private static final int TRAILER_BYTES = Integer.BYTES;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final long groupCommitNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition dirty = lock.newCondition();
+  private final Condition flushed = lock.newCondition();
+
+  private FileChannel activeChannel;
+  private MappedByteBuffer active;
+  private Path activePath;
+  private int flushedPosition;
+  private long nextSeq = 1;
+  private long durableSeq;
+  private IOException flushFailure;
+  private Thread flusher;
+  private boolean closed;
+
+  public EventJournal(Path directory, int segmentSize, Duration groupCommitInterval) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.groupCommitNanos = groupCommitInterval.toNanos();
+  }
+
+  /**
+   * Reads every segment in order and passes each event with a sequence above
+   * {@code afterSeq} to the consumer. Call once, before the first append; later appends
+   * continue after the highest sequence found. Trailing segments holding no valid record are
+   * deleted: they were named after the next sequence, which appends would reuse.
+   *
+   * @return the number of events passed on
+   */
+  public long replay(long afterSeq, Consumer<JournalEvent> consumer) throws IOException {
+    long replayed = 0;
+    long lastSeq = afterSeq;
+    List<Path> emptyTail = new ArrayList<>();
+    for (Path segment : segments()) {
+      long records = 0;
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        while (buffer.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+          int start = buffer.position();
+          int length = buffer.getInt();
+          if (length == 0) {
+            break;
+          }
+          if (length < 0 || length > buffer.remaining() - Long.BYTES - Byte.BYTES - TRAILER_BYTES) {
+            log.warn("Torn record at offset {} of {}; skipping the rest of the segment", start, segment);
+            break;
+          }
+          long seq = buffer.getLong();
+          byte type = buffer.get();
+          byte[] payload = new byte[length];
+          buffer.get(payload);
+          if (buffer.getInt() != checksum(seq, type, payload)) {
+            log.warn("Checksum mismatch at offset {} of {}; skipping the rest of the segment", start, segment);
+            break;
+          }
+          if (seq > afterSeq) {
+            consumer.accept(JournalEvent.readFrom(type, new DataInputStream(new ByteArrayInputStream(payload))));
+            replayed++;
+          }
+          lastSeq = Math.max(lastSeq, seq);
+          records++;
+        }
+      }
+      if (records == 0) {
+        emptyTail.add(segment);
+      } else {
+        emptyTail.clear();
+      }
+    }
+    for (Path segment : emptyTail) {
+      log.warn("Deleting {}, which holds no valid records", segment);
+      Files.delete(segment);
+    }
+    lock.lock();
+    try {
+      nextSeq = lastSeq + 1;
+      durableSeq = lastSeq;
+    } finally {
+      lock.unlock();
+    }
+    return replayed;
+  }
+
+  /**
+   * Appends the events contiguously and returns the sequence of the last one. The events
+   * are readable after a process crash at once, and after a power failure once
+   * {@link #awaitDurable} returns for that sequence.
+   */
+  public long append(List<JournalEvent> events) {
+    List<byte[]> payloads = new ArrayList<>(events.size());
+    for (JournalEvent event : events) {
+      payloads.add(encode(event));
+    }
+
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Journal is closed");
+      }
+      long seq = nextSeq - 1;
+      for (int i = 0; i < payloads.size(); i++) {
+        byte[] payload = payloads.get(i);
+        int recordBytes = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        if (recordBytes + Integer.BYTES > segmentSize) {
+          throw new IllegalArgumentException("Event of " + payload.length + " bytes does not fit a journal segment");
+        }
+        // Keep room for the zero length that marks the end of the segment
+        if (active == null || active.remaining() < recordBytes + Integer.BYTES) {
+          roll();
+        }
+        seq = nextSeq++;
+        byte type = events.get(i).type();
+        active.putInt(payload.length).putLong(seq).put(type).put(payload).putInt(checksum(seq, type, payload));
+      }
+      dirty.signal();
+      return seq;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not append to the event journal", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until the record with this sequence has been forced to disk.
+   */
+  public void awaitDurable(long seq) throws InterruptedException {
+    lock.lock();
+    try {
+      while (durableSeq < seq) {
+        if (flushFailure != null) {
+          throw new UncheckedIOException("Event journal could not be forced to disk", flushFailure);
+        }
+        if (closed) {
+          throw new IllegalStateException("Journal closed before sequence " + seq + " was durable");
+        }
+        flushed.await(1, TimeUnit.SECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long lastSeq() {
+    lock.lock();
+    try {
+      return nextSeq - 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Deletes segments whose every record has a sequence at or below {@code seq}. The segment
+   * being appended to is kept.
+   */
+  public void deleteSegmentsThrough(long seq) throws IOException {
+    lock.lock();
+    try {
+      List<Path> segments = segments();
+      for (int i = 0; i < segments.size(); i++) {
+        Path segment = segments.get(i);
+        if (segment.equals(activePath)) {
+          continue;
+        }
+        long lastInSegment = i + 1 < segments.size() ? firstSeq(segments.get(i + 1)) - 1 : nextSeq - 1;
+        if (lastInSegment <= seq) {
+          Files.delete(segment);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    Thread running;
+    lock.lock();
+    try {
+      closed = true;
+      running = flusher;
+      dirty.signal();
+    } finally {
+      lock.unlock();
+    }
+    if (running != null) {
+      try {
+        running.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    lock.lock();
+    try {
+      if (active != null) {
+        active.force();
+        activeChannel.close();
+      }
+      flushed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Called with the lock held
+  private void roll() throws IOException {
+    if (active != null) {
+      active.putInt(0);
+      active.force();
+      activeChannel.close();
+      durableSeq = nextSeq - 1;
+      flushed.signalAll();
+    }
+    Files.createDirectories(directory);
+    activePath = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSeq, SEGMENT_SUFFIX));
+    activeChannel = FileChannel.open(activePath,
+        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    flushedPosition = 0;
+    if (flusher == null) {
+      flusher = Thread.ofPlatform().name("event-journal-flusher").daemon().start(this::flushLoop);
+    }
+  }
+
+  private void flushLoop() {
+    while (true) {
+      MappedByteBuffer buffer;
+      int from;
+      int to;
+      long target;
+      lock.lock();
+      try {
+        while (!closed && durableSeq == nextSeq - 1) {
+          dirty.awaitUninterruptibly();
+        }
+        if (closed) {
+          return;
+        }
+        buffer = active;
+        from = flushedPosition;
+        to = active.position();
+        target = nextSeq - 1;
+      } finally {
+        lock.unlock();
+      }
+
+      IOException failure = null;
+      try {
+        buffer.force(from, to - from);
+      } catch (UncheckedIOException e) {
+        failure = e.getCause();
+      }
+
+      lock.lock();
+      try {
+        if (failure != null) {
+          // Waiters now fail instead of waiting on a disk that is not accepting writes
+          flushFailure = failure;
+          flushed.signalAll();
+          log.error("Event journal flush failed; commits waiting for durability will fail", failure);
+          return;
+        }
+        if (buffer == active) {
+          flushedPosition = Math.max(flushedPosition, to);
+          durableSeq = Math.max(durableSeq, target);
+        }
+        flushed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      if (groupCommitNanos > 0) {
+        LockSupport.parkNanos(groupCommitNanos);
+      }
+    }
+  }
+
+  private List<Path> segments() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+          .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static long firstSeq(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private static byte[] encode(JournalEvent event) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      event.writeTo(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static int checksum(long seq, byte type, byte[] payload) {
+    CRC32C crc = new CRC32C();
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      crc.update((int) (seq >>> shift));
+    }
+    crc.update(type);
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,128 @@
+package com.pollinate.challenge.service.journal;
+
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+import com.pollinate.challenge.domain.Product;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A committed creation, as stored in journal segments and snapshots. Events carry the
+ * generated IDs, so a replay recreates rows exactly and later references stay valid.
+ */
+public sealed interface JournalEvent {
+
+  // Types 1 and 2 stored prices as decimals; they are still read, and converted, on replay
+  byte LEGACY_PRODUCT_CREATED = 1;
+  byte LEGACY_ORDER_CREATED = 2;
+  byte PRODUCT_CREATED = 3;
+  byte ORDER_CREATED = 4;
+
+  byte type();
+
+  void writeTo(DataOutput out) throws IOException;
+
+  record ProductCreated(long id, String name, long priceMinor) implements JournalEvent {
+
+    static ProductCreated of(Product product) {
+      return new ProductCreated(product.getId(), product.getName(), product.getPriceMinor());
+    }
+
+    @Override
+    public byte type() {
+      return PRODUCT_CREATED;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+      out.writeLong(id);
+      out.writeUTF(name);
+      out.writeLong(priceMinor);
+    }
+  }
+
+  record OrderCreated(long id, LocalDateTime createdAt, long totalPriceMinor, String trackingId, List<Line> lines)
+      implements JournalEvent {
+
+    public record Line(long id, long productId, String productName, long unitPriceMinor, int quantity) {
+    }
+
+    static OrderCreated of(Order order) {
+      List<Line> lines = new ArrayList<>(order.getLines().size());
+      for (OrderLine line : order.getLines()) {
+        lines.add(new Line(line.getId(), line.getProductId(), line.getProductName(), line.getUnitPriceMinor(),
+            line.getQuantity()));
+      }
+      return new OrderCreated(order.getId(), order.getCreatedAt(), order.getTotalPriceMinor(), order.getTrackingId(), lines);
+    }
+
+    @Override
+    public byte type() {
+      return ORDER_CREATED;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+      out.writeLong(id);
+      out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+      out.writeInt(createdAt.getNano());
+      out.writeLong(totalPriceMinor);
+      out.writeBoolean(trackingId != null);
+      if (trackingId != null) {
+        out.writeUTF(trackingId);
+      }
+      out.writeInt(lines.size());
+      for (Line line : lines) {
+        out.writeLong(line.id());
+        out.writeLong(line.productId());
+        out.writeUTF(line.productName());
+        out.writeLong(line.unitPriceMinor());
+        out.writeInt(line.quantity());
+      }
+    }
+  }
+
+  static JournalEvent readFrom(byte type, DataInput in) throws IOException {
+    return switch (type) {
+      case PRODUCT_CREATED -> new ProductCreated(in.readLong(), in.readUTF(), in.readLong());
+      case ORDER_CREATED -> readOrder(in, false);
+      case LEGACY_PRODUCT_CREATED -> new ProductCreated(in.readLong(), in.readUTF(), readDecimalMinor(in));
+      case LEGACY_ORDER_CREATED -> readOrder(in, true);
+      default -> throw new IOException("Unknown journal event type " + type);
+    };
+  }
+
+  private static OrderCreated readOrder(DataInput in, boolean decimalPrices) throws IOException {
+    long id = in.readLong();
+    LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    long totalPriceMinor = decimalPrices ? readDecimalMinor(in) : in.readLong();
+    String trackingId = in.readBoolean() ? in.readUTF() : null;
+    int count = in.readInt();
+    List<OrderCreated.Line> lines = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long lineId = in.readLong();
+      long productId = in.readLong();
+      String productName = in.readUTF();
+      long unitPriceMinor = decimalPrices ? readDecimalMinor(in) : in.readLong();
+      lines.add(new OrderCreated.Line(lineId, productId, productName, unitPriceMinor, in.readInt()));
+    }
+    return new OrderCreated(id, createdAt, totalPriceMinor, trackingId, lines);
+  }
+
+  // Legacy price encoding: unscaled value plus scale
+  private static long readDecimalMinor(DataInput in) throws IOException {
+    int scale = in.readByte();
+    byte[] unscaled = new byte[in.readUnsignedByte()];
+    in.readFully(unscaled);
+    return Money.toMinorUnits(new BigDecimal(new BigInteger(unscaled), scale));
+  }
+}
@@ -0,0 +1,267 @@
+package com.pollinate.challenge.service.journal;
+
+import com.pollinate.challenge.config.EventJournalProperties;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.service.journal.JournalEvent.OrderCreated;
+import com.pollinate.challenge.service.journal.JournalEvent.ProductCreated;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory database recoverable across restarts.
+ *
+ * <p>Every committed {@link Product} and {@link Order} insert, whichever service made it, is
+ * caught by a Hibernate post-insert listener and appended to the {@link EventJournal} once
+ * its transaction commits, as one contiguous group per transaction. With
+ * {@code sync-commits} the committing thread then waits for the group commit that makes
+ * the events durable.
+ *
+ * <p>At startup, before the catalog, rollups or web server see the database, the latest
+ * snapshot and the journal tail are replayed into the empty schema. A scheduled snapshot
+ * then bounds how much journal a restart has to read.
+ */
+@Slf4j
+@Component
+public class JournalRecorder implements PostInsertEventListener {
+
+  public record SnapshotResult(long seq, long events) {
+  }
+
+  private static final int REPLAY_BATCH_SIZE = 1000;
+
+  private final EventJournalProperties properties;
+  private final EntityManagerFactory entityManagerFactory;
+  private final JdbcTemplate jdbcTemplate;
+  private final Timer commitWait;
+  private EventJournal journal;
+
+  public JournalRecorder(EventJournalProperties properties,
+                         EntityManagerFactory entityManagerFactory,
+                         JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.entityManagerFactory = entityManagerFactory;
+    this.jdbcTemplate = jdbcTemplate;
+    this.commitWait = Timer.builder("journal.commit.wait")
+        .description("Time a committing thread waits for its events to be forced to disk")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+    journal = new EventJournal(properties.directory(), (int) properties.segmentSize().toBytes(),
+        properties.groupCommitInterval());
+    try {
+      replay();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not replay the event journal in " + properties.directory(), e);
+    }
+    entityManagerFactory.unwrap(SessionFactoryImplementor.class).getEventListenerRegistry()
+        .appendListeners(EventType.POST_INSERT, this);
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    Object entity = event.getEntity();
+    if (!(entity instanceof Product) && !(entity instanceof Order)) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      record(List.of(entity));
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object> created = (List<Object>) TransactionSynchronizationManager.getResource(this);
+    if (created == null) {
+      List<Object> inserts = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, inserts);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          record(inserts);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(JournalRecorder.this);
+        }
+      });
+      created = inserts;
+    }
+    created.add(entity);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  @Scheduled(fixedDelayString = "${challenge.journal.snapshot-interval:10m}",
+      initialDelayString = "${challenge.journal.snapshot-interval:10m}")
+  public void scheduledSnapshot() {
+    if (journal == null) {
+      return;
+    }
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException e) {
+      log.error("Journal snapshot failed; segments are kept until the next one succeeds", e);
+    }
+  }
+
+  /**
+   * Writes a snapshot of every product and order and deletes the journal segments it makes
+   * redundant. Reads the database with plain JDBC, so it never fills a persistence context.
+   */
+  public synchronized SnapshotResult snapshot() throws IOException {
+    if (journal == null) {
+      throw new IllegalStateException("The event journal is disabled");
+    }
+    long started = System.nanoTime();
+    // Every event up to here belongs to a committed row, so the reads below include it
+    long seq = journal.lastSeq();
+    long events = SnapshotFile.write(properties.directory(), seq, writer -> {
+      OrderRowWriter orders = new OrderRowWriter(writer);
+      try {
+        jdbcTemplate.query("select id, name, price from products order by id", (ResultSet rs) -> {
+          write(writer, new ProductCreated(rs.getLong(1), rs.getString(2), Money.toMinorUnits(rs.getBigDecimal(3))));
+        });
+        jdbcTemplate.query("""
+            select o.id, o.created_at, o.total_price, o.tracking_id,
+                   l.id, l.product_id, l.product_name, l.unit_price, l.quantity
+            from orders o left join order_lines l on l.order_id = o.id
+            order by o.id, l.id""", orders);
+        orders.finish();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    });
+    journal.deleteSegmentsThrough(seq);
+    log.info("Wrote journal snapshot of {} events through sequence {} in {} ms",
+        events, seq, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    return new SnapshotResult(seq, events);
+  }
+
+  private void record(List<Object> entities) {
+    List<JournalEvent> events = new ArrayList<>(entities.size());
+    for (Object entity : entities) {
+      events.add(entity instanceof Product product ? ProductCreated.of(product) : OrderCreated.of((Order) entity));
+    }
+    long seq = journal.append(events);
+    if (properties.syncCommits()) {
+      long started = System.nanoTime();
+      try {
+        journal.awaitDurable(seq);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      commitWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void replay() throws IOException {
+    long started = System.nanoTime();
+    ReplayWriter writer = new ReplayWriter(jdbcTemplate, REPLAY_BATCH_SIZE);
+    long[] snapshotEvents = {0};
+    long snapshotSeq = SnapshotFile.readLatest(properties.directory(), event -> {
+      writer.fromSnapshot(event);
+      snapshotEvents[0]++;
+    });
+    long journalEvents = journal.replay(snapshotSeq, writer::fromJournal);
+    writer.finish();
+    log.info("Restored {} products and {} orders from {} snapshot and {} journal events in {} ms",
+        writer.productCount(), writer.orderCount(), snapshotEvents[0], journalEvents,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+  }
+
+  private static void write(SnapshotFile.Writer writer, JournalEvent event) {
+    try {
+      writer.write(event);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Folds the order/line join back into one event per order as rows stream past.
+   */
+  private static final class OrderRowWriter implements RowCallbackHandler {
+
+    private final SnapshotFile.Writer writer;
+    private long orderId = -1;
+    private LocalDateTime createdAt;
+    private long totalPriceMinor;
+    private String trackingId;
+    private List<OrderCreated.Line> lines = new ArrayList<>();
+
+    OrderRowWriter(SnapshotFile.Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      long id = rs.getLong(1);
+      if (id != orderId) {
+        emit();
+        orderId = id;
+        createdAt = rs.getObject(2, LocalDateTime.class);
+        totalPriceMinor = Money.toMinorUnits(rs.getBigDecimal(3));
+        trackingId = rs.getString(4);
+      }
+      long lineId = rs.getLong(5);
+      if (!rs.wasNull()) {
+        lines.add(new OrderCreated.Line(lineId, rs.getLong(6), rs.getString(7),
+            Money.toMinorUnits(rs.getBigDecimal(8)), rs.getInt(9)));
+      }
+    }
+
+    void finish() {
+      emit();
+    }
+
+    private void emit() {
+      if (orderId >= 0) {
+        write(writer, new OrderCreated(orderId, createdAt, totalPriceMinor, trackingId, lines));
+        lines = new ArrayList<>();
+        orderId = -1;
+      }
+    }
+  }
+}
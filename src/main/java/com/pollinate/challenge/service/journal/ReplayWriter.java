@@ -0,0 +1,115 @@
+package com.pollinate.challenge.service.journal;
+
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.service.journal.JournalEvent.OrderCreated;
+import com.pollinate.challenge.service.journal.JournalEvent.ProductCreated;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts replayed events with plain JDBC batches, keeping their IDs, then moves each ID
+ * sequence past the highest replayed ID. Journal events for rows already restored from the
+ * snapshot are skipped: a row committed while the snapshot was read is in both.
+ */
+final class ReplayWriter {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int batchSize;
+  private final Set<Long> snapshotProducts = new HashSet<>();
+  private final Set<Long> snapshotOrders = new HashSet<>();
+  private final List<Object[]> products = new ArrayList<>();
+  private final List<Object[]> orders = new ArrayList<>();
+  private final List<Object[]> lines = new ArrayList<>();
+  private long maxProductId;
+  private long maxOrderId;
+  private long maxLineId;
+  private long productCount;
+  private long orderCount;
+
+  ReplayWriter(JdbcTemplate jdbcTemplate, int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.batchSize = batchSize;
+  }
+
+  void fromSnapshot(JournalEvent event) {
+    add(event, true);
+  }
+
+  void fromJournal(JournalEvent event) {
+    add(event, false);
+  }
+
+  long productCount() {
+    return productCount;
+  }
+
+  long orderCount() {
+    return orderCount;
+  }
+
+  void finish() {
+    flush();
+    restart("product_seq", maxProductId);
+    restart("order_seq", maxOrderId);
+    restart("order_line_seq", maxLineId);
+  }
+
+  private void add(JournalEvent event, boolean snapshot) {
+    switch (event) {
+      case ProductCreated product -> {
+        if (!(snapshot ? snapshotProducts.add(product.id()) : !snapshotProducts.contains(product.id()))) {
+          return;
+        }
+        products.add(new Object[] {product.id(), product.name(), Money.toDecimal(product.priceMinor())});
+        maxProductId = Math.max(maxProductId, product.id());
+        productCount++;
+      }
+      case OrderCreated order -> {
+        if (!(snapshot ? snapshotOrders.add(order.id()) : !snapshotOrders.contains(order.id()))) {
+          return;
+        }
+        orders.add(new Object[] {order.id(), Money.toDecimal(order.totalPriceMinor()), order.createdAt(), order.trackingId()});
+        for (OrderCreated.Line line : order.lines()) {
+          lines.add(new Object[] {
+              line.id(), order.id(), line.productId(), line.productName(), Money.toDecimal(line.unitPriceMinor()), line.quantity()});
+          maxLineId = Math.max(maxLineId, line.id());
+        }
+        maxOrderId = Math.max(maxOrderId, order.id());
+        orderCount++;
+      }
+    }
+    if (products.size() + orders.size() + lines.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  private void flush() {
+    if (!products.isEmpty()) {
+      jdbcTemplate.batchUpdate("insert into products (id, name, price, version) values (?, ?, ?, 0)", products);
+      products.clear();
+    }
+    // Orders before their lines, for the foreign key
+    if (!orders.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          "insert into orders (id, total_price, created_at, tracking_id, version) values (?, ?, ?, ?, 0)", orders);
+      orders.clear();
+    }
+    if (!lines.isEmpty()) {
+      jdbcTemplate.batchUpdate("""
+          insert into order_lines (id, order_id, product_id, product_name, unit_price, quantity)
+          values (?, ?, ?, ?, ?, ?)""", lines);
+      lines.clear();
+    }
+  }
+
+  private void restart(String sequence, long maxId) {
+    if (maxId > 0) {
+      // Pooled-lo hands out the value it reads as the first ID of a block
+      jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+    }
+  }
+}
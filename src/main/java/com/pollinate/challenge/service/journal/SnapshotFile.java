@@ -0,0 +1,128 @@
+package com.pollinate.challenge.service.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compact snapshot of every product and order, written next to the journal segments.
+ *
+ * <p>A snapshot is the event stream without per-record framing: a header with the journal
+ * sequence it covers, then type-prefixed events, then an end marker and the event count.
+ * It is written to a temporary file, forced and renamed into place, so a reader sees either
+ * the previous snapshot or the complete new one.
+ */
+public final class SnapshotFile {
+
+  private static final int MAGIC = 0x534e4150; // "SNAP"
+  private static final byte FORMAT_VERSION = 1;
+  private static final byte END = 0;
+  private static final String PREFIX = "snapshot-";
+  private static final String SUFFIX = ".bin";
+
+  /**
+   * Receives events while a snapshot is written.
+   */
+  public interface Writer {
+    void write(JournalEvent event) throws IOException;
+  }
+
+  /**
+   * Produces the snapshot contents by calling the writer once per event.
+   */
+  public interface Source {
+    void writeTo(Writer writer) throws IOException;
+  }
+
+  private SnapshotFile() {
+  }
+
+  /**
+   * Writes a snapshot covering the journal up to {@code seq}, then deletes older snapshots.
+   *
+   * @return the number of events written
+   */
+  public static long write(Path directory, long seq, Source source) throws IOException {
+    Files.createDirectories(directory);
+    Path target = directory.resolve(String.format("%s%020d%s", PREFIX, seq, SUFFIX));
+    Path temp = Files.createTempFile(directory, PREFIX, ".tmp");
+    long[] count = {0};
+    try (FileOutputStream file = new FileOutputStream(temp.toFile());
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeByte(FORMAT_VERSION);
+      out.writeLong(seq);
+      source.writeTo(event -> {
+        out.writeByte(event.type());
+        event.writeTo(out);
+        count[0]++;
+      });
+      out.writeByte(END);
+      out.writeLong(count[0]);
+      out.flush();
+      file.getChannel().force(true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    for (Path older : snapshots(directory)) {
+      if (!older.equals(target)) {
+        Files.delete(older);
+      }
+    }
+    return count[0];
+  }
+
+  /**
+   * Passes every event of the newest snapshot to the consumer.
+   *
+   * @return the journal sequence the snapshot covers, or 0 when there is none
+   */
+  public static long readLatest(Path directory, Consumer<JournalEvent> consumer) throws IOException {
+    List<Path> snapshots = snapshots(directory);
+    if (snapshots.isEmpty()) {
+      return 0;
+    }
+    Path latest = snapshots.get(snapshots.size() - 1);
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest), 1 << 16))) {
+      if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+        throw new IOException("Not a snapshot file: " + latest);
+      }
+      long seq = in.readLong();
+      long count = 0;
+      byte type;
+      while ((type = in.readByte()) != END) {
+        consumer.accept(JournalEvent.readFrom(type, in));
+        count++;
+      }
+      if (in.readLong() != count) {
+        throw new IOException("Snapshot " + latest + " is incomplete");
+      }
+      return seq;
+    }
+  }
+
+  private static List<Path> snapshots(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+          .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.pollinate.challenge.service.metrics;
+
+import com.pollinate.challenge.domain.Money;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Order-specific meters: per-phase timers inside order creation and the shape of
+ * accepted orders. Complements the per-method timers from {@link ServiceMetricsInterceptor}.
+ */
+@Component
+public class OrderMetrics {
+
+  public static final String PHASE_METRIC = "order.create.phase";
+
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, Timer> phases = new ConcurrentHashMap<>();
+  private final DistributionSummary productsPerOrder;
+  private final DistributionSummary orderTotal;
+
+  public OrderMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.productsPerOrder = DistributionSummary.builder("order.products")
+        .description("Distinct products per accepted order")
+        .baseUnit("products")
+        .register(meterRegistry);
+    this.orderTotal = DistributionSummary.builder("order.total")
+        .description("Total price of accepted orders")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Timer for one phase of an order-creating operation, e.g. ("createOrder", "resolve").
+   */
+  public Timer phase(String operation, String phase) {
+    return phases.computeIfAbsent(operation + '/' + phase, key -> Timer.builder(PHASE_METRIC)
+        .description("Time spent in one phase of order creation")
+        .tag("operation", operation)
+        .tag("phase", phase)
+        .register(meterRegistry));
+  }
+
+  public void recordAccepted(int productCount, long totalMinor) {
+    productsPerOrder.record(productCount);
+    orderTotal.record(Money.toDouble(totalMinor));
+  }
+}
@@ -0,0 +1,87 @@
+package com.pollinate.challenge.service.metrics;
+
+import com.pollinate.challenge.exception.InvalidRequestException;
+import com.pollinate.challenge.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public service method, tagged by service, method and outcome.
+ *
+ * <p>Runs outside the transaction interceptor, so the recorded time includes
+ * opening the transaction, the flush and the commit. All outcome timers for a
+ * method are registered on its first call so each series exists before it is
+ * first non-zero.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+  public static final String METRIC_NAME = "service.method";
+
+  enum Outcome {
+    SUCCESS("success"), NOT_FOUND("not_found"), VALIDATION("validation"), ERROR("error");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+
+    static Outcome of(Throwable ex) {
+      if (ex instanceof ResourceNotFoundException) {
+        return NOT_FOUND;
+      }
+      if (ex instanceof InvalidRequestException || ex instanceof IllegalArgumentException) {
+        return VALIDATION;
+      }
+      return ERROR;
+    }
+  }
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final ConcurrentMap<Method, Map<Outcome, Timer>> timers = new ConcurrentHashMap<>();
+
+  public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    long start = System.nanoTime();
+    Outcome outcome = Outcome.SUCCESS;
+    try {
+      return invocation.proceed();
+    } catch (Throwable ex) {
+      outcome = Outcome.of(ex);
+      throw ex;
+    } finally {
+      Map<Outcome, Timer> methodTimers = timers.computeIfAbsent(invocation.getMethod(),
+          method -> register(AopUtils.getTargetClass(invocation.getThis()), method));
+      methodTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Map<Outcome, Timer> register(Class<?> targetClass, Method method) {
+    MeterRegistry registry = meterRegistry.getObject();
+    Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+    for (Outcome outcome : Outcome.values()) {
+      byOutcome.put(outcome, Timer.builder(METRIC_NAME)
+          .description("Service method latency including the transaction commit")
+          .tag("service", targetClass.getSimpleName())
+          .tag("method", method.getName())
+          .tag("outcome", outcome.tag)
+          .register(registry));
+    }
+    return byOutcome;
+  }
+}
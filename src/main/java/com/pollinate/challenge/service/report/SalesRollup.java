@@ -0,0 +1,244 @@
+package com.pollinate.challenge.service.report;
+
+import com.pollinate.challenge.config.SalesReportProperties;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.repository.OrderSalesRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory sales rollups by product, hour and day, kept current as orders commit.
+ *
+ * <p>Orders are added after their transaction commits, so rolled-back orders never count.
+ * Reads walk the rollup maps only and never touch the order tables. {@link #rebuild()}
+ * recomputes everything from {@code order_lines} in parallel ID-range chunks into a fresh
+ * set of maps and swaps it in; orders that commit while the scan is running are replayed
+ * into the new maps before the swap. Pooled sequence IDs can commit out of order, so an
+ * order below the scan's upper ID that commits after its chunk was read is missed until the
+ * next rebuild.
+ */
+@Slf4j
+@Component
+public class SalesRollup {
+
+  /**
+   * Copy of the order fields the rollups need, taken before commit so the callback never
+   * touches a detached entity.
+   */
+  record Sale(Long orderId, LocalDateTime createdAt, long totalMinor, List<Line> lines) {
+
+    record Line(Long productId, String productName, int quantity, long lineTotalMinor) {
+    }
+
+    static Sale from(Order order) {
+      return new Sale(order.getId(), order.getCreatedAt(), order.getTotalPriceMinor(), order.getLines().stream()
+          .map(line -> new Line(line.getProductId(), line.getProductName(), line.getQuantity(), line.lineTotalMinor()))
+          .toList());
+    }
+  }
+
+  public record RebuildResult(long orders, int chunks, long replayed, Duration elapsed) {
+  }
+
+  private static final class Buckets {
+    final ConcurrentMap<Long, SalesTotals> byProduct = new ConcurrentHashMap<>();
+    final ConcurrentMap<LocalDateTime, SalesTotals> byHour = new ConcurrentHashMap<>();
+    final ConcurrentMap<LocalDate, SalesTotals> byDay = new ConcurrentHashMap<>();
+    final SalesTotals overall = new SalesTotals();
+
+    void addOrder(LocalDateTime createdAt, long totalMinor, long units) {
+      byHour.computeIfAbsent(createdAt.truncatedTo(ChronoUnit.HOURS), key -> new SalesTotals()).add(1, units, totalMinor);
+      byDay.computeIfAbsent(createdAt.toLocalDate(), key -> new SalesTotals()).add(1, units, totalMinor);
+      overall.add(1, units, totalMinor);
+    }
+
+    void addLine(Long productId, String productName, int quantity, long lineTotalMinor) {
+      SalesTotals product = byProduct.computeIfAbsent(productId, key -> new SalesTotals());
+      product.add(1, quantity, lineTotalMinor);
+      product.label(productName);
+    }
+
+    void add(Sale sale) {
+      long units = 0;
+      for (Sale.Line line : sale.lines()) {
+        addLine(line.productId(), line.productName(), line.quantity(), line.lineTotalMinor());
+        units += line.quantity();
+      }
+      addOrder(sale.createdAt(), sale.totalMinor(), units);
+    }
+  }
+
+  private final SalesReportProperties properties;
+  private final OrderRepository orderRepository;
+
+  // Readers of "current" take the read lock only to record; the swap at the end of a rebuild
+  // takes the write lock so no sale can land in the old maps after it has been replayed
+  private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private volatile Buckets current = new Buckets();
+  private volatile Queue<Sale> recordedDuringRebuild;
+
+  public SalesRollup(SalesReportProperties properties, OrderRepository orderRepository) {
+    this.properties = properties;
+    this.orderRepository = orderRepository;
+  }
+
+  /**
+   * Adds orders saved in the current transaction once it commits. Outside a transaction
+   * they are added immediately.
+   */
+  public void recordAfterCommit(Collection<Order> orders) {
+    if (!properties.enabled() || orders.isEmpty()) {
+      return;
+    }
+    List<Sale> sales = orders.stream().map(Sale::from).toList();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          record(sales);
+        }
+      });
+    } else {
+      record(sales);
+    }
+  }
+
+  public Map<Long, SalesTotals> byProduct() {
+    return current.byProduct;
+  }
+
+  public Map<LocalDateTime, SalesTotals> byHour() {
+    return current.byHour;
+  }
+
+  public Map<LocalDate, SalesTotals> byDay() {
+    return current.byDay;
+  }
+
+  public SalesTotals overall() {
+    return current.overall;
+  }
+
+  /**
+   * Recomputes all rollups from the order tables. Concurrent rebuilds run one after the other.
+   */
+  public synchronized RebuildResult rebuild() {
+    long started = System.nanoTime();
+    Queue<Sale> replay = new ConcurrentLinkedQueue<>();
+    recordedDuringRebuild = replay;
+    try {
+      // Taken after replay capture starts: any order above it commits later and is replayed
+      Long minId = orderRepository.findMinId();
+      Long maxId = orderRepository.findMaxId();
+      Buckets rebuilt = new Buckets();
+      int chunks = 0;
+      long orders = 0;
+
+      if (minId != null) {
+        int chunkSize = Math.max(1, properties.rebuildChunkSize());
+        List<Future<Long>> tasks = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, properties.rebuildParallelism()))) {
+          for (long first = minId; first <= maxId; first += chunkSize) {
+            long chunkFirst = first;
+            long chunkLast = Math.min(maxId, first + chunkSize - 1);
+            tasks.add(pool.submit(() -> scan(rebuilt, chunkFirst, chunkLast)));
+          }
+          for (Future<Long> task : tasks) {
+            orders += task.get();
+          }
+        }
+        chunks = tasks.size();
+      }
+
+      long replayed = 0;
+      swapLock.writeLock().lock();
+      try {
+        for (Sale sale : replay) {
+          if (maxId == null || sale.orderId() > maxId) {
+            rebuilt.add(sale);
+            replayed++;
+          }
+        }
+        current = rebuilt;
+        recordedDuringRebuild = null;
+      } finally {
+        swapLock.writeLock().unlock();
+      }
+
+      RebuildResult result = new RebuildResult(orders + replayed, chunks, replayed,
+          Duration.ofNanos(System.nanoTime() - started));
+      log.info("Sales rollups rebuilt from {} orders in {} chunks ({} replayed) in {} ms",
+          result.orders(), chunks, replayed, result.elapsed().toMillis());
+      return result;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Sales rollup rebuild interrupted", ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Sales rollup rebuild failed", ex.getCause());
+    } finally {
+      recordedDuringRebuild = null;
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (properties.enabled()) {
+      rebuild();
+    }
+  }
+
+  private void record(List<Sale> sales) {
+    swapLock.readLock().lock();
+    try {
+      Buckets target = current;
+      Queue<Sale> replay = recordedDuringRebuild;
+      for (Sale sale : sales) {
+        target.add(sale);
+        if (replay != null) {
+          replay.add(sale);
+        }
+      }
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  private long scan(Buckets target, long firstId, long lastId) {
+    Map<Long, OrderSalesRow> headers = new HashMap<>();
+    Map<Long, Long> unitsByOrder = new HashMap<>();
+    for (OrderSalesRow row : orderRepository.findSalesRows(firstId, lastId)) {
+      target.addLine(row.productId(), row.productName(), row.quantity(),
+          Money.times(row.unitPriceMinor(), row.quantity()));
+      headers.putIfAbsent(row.orderId(), row);
+      unitsByOrder.merge(row.orderId(), (long) row.quantity(), Long::sum);
+    }
+    headers.forEach((orderId, row) -> target.addOrder(row.createdAt(), row.orderTotalMinor(), unitsByOrder.get(orderId)));
+    return headers.size();
+  }
+}
@@ -0,0 +1,42 @@
+package com.pollinate.challenge.service.report;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counters for one rollup bucket. Safe to update from many threads at once.
+ */
+public final class SalesTotals {
+
+  private final LongAdder orders = new LongAdder();
+  private final LongAdder units = new LongAdder();
+  // Minor units; a LongAdder instead of a CAS loop over an immutable decimal
+  private final LongAdder revenueMinor = new LongAdder();
+  // Product buckets only: name from the most recently recorded line
+  private volatile String label;
+
+  void add(long orderCount, long unitCount, long amountMinor) {
+    orders.add(orderCount);
+    units.add(unitCount);
+    revenueMinor.add(amountMinor);
+  }
+
+  void label(String label) {
+    this.label = label;
+  }
+
+  public long orders() {
+    return orders.sum();
+  }
+
+  public long units() {
+    return units.sum();
+  }
+
+  public long revenueMinor() {
+    return revenueMinor.sum();
+  }
+
+  public String label() {
+    return label;
+  }
+}
@@ -0,0 +1,32 @@
+package com.pollinate.challenge.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of unboxed ints; a posting list of document ordinals.
+ * Not thread-safe: guarded by the index lock.
+ */
+final class IntList {
+
+  private int[] values = new int[2];
+  private int size;
+
+  void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size++] = value;
+  }
+
+  int get(int index) {
+    return values[index];
+  }
+
+  void set(int index, int value) {
+    values[index] = value;
+  }
+
+  int size() {
+    return size;
+  }
+}
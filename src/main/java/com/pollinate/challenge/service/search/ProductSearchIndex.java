@@ -0,0 +1,406 @@
+package com.pollinate.challenge.service.search;
+
+import com.pollinate.challenge.config.ProductSearchProperties;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.repository.ProductSummary;
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index behind {@code GET /api/products/search}.
+ *
+ * <p>Each product gets an ordinal into an array of {@link CatalogEntry} documents. Name words
+ * map to posting lists of ordinals in a sorted term dictionary, so a prefix is a sub-map and
+ * several tokens are intersected as bitsets. Prices and names each have a sorted map of
+ * posting lists that answers ranges and ordered pages without sorting. Name matches are
+ * partially sorted up to the requested page, or, when they cover much of the catalog, picked
+ * off one of those ordered maps until the page is full.
+ *
+ * <p>Products are added after their transaction commits and are never modified, so the
+ * index only grows. It is built from the database once the application is ready; until
+ * then, when disabled, or once the catalog outgrows {@code max-products}, {@link #search}
+ * returns null and the caller queries the database instead.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+  private static final int WARM_UP_BATCH = 10_000;
+
+  public record Result(List<CatalogEntry> products, long total) {
+  }
+
+  private final ProductSearchProperties properties;
+  private final ProductRepository productRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongAdder indexedSearches = new LongAdder();
+  private final LongAdder fallbackSearches = new LongAdder();
+
+  private CatalogEntry[] docs = new CatalogEntry[1024];
+  private int docCount;
+  private final NavigableMap<Long, Integer> ordinalsById = new TreeMap<>();
+  private final NavigableMap<String, IntList> terms = new TreeMap<>();
+  private final NavigableMap<Long, IntList> byPrice = new TreeMap<>();
+  private final NavigableMap<String, IntList> byName = new TreeMap<>();
+  private volatile boolean ready;
+  private volatile boolean overflowed;
+
+  public ProductSearchIndex(ProductSearchProperties properties, ProductRepository productRepository,
+                            MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.productRepository = productRepository;
+
+    FunctionCounter.builder("product.search.queries", indexedSearches, LongAdder::sum)
+        .tag("source", "index")
+        .register(meterRegistry);
+    FunctionCounter.builder("product.search.queries", fallbackSearches, LongAdder::sum)
+        .tag("source", "database")
+        .register(meterRegistry);
+    Gauge.builder("product.search.index.size", this, ProductSearchIndex::size)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the query against the index, or returns null when the index cannot answer it
+   * and the database has to.
+   */
+  public Result search(ProductSearchQuery query) {
+    if (!ready) {
+      fallbackSearches.increment();
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      if (!ready) {
+        fallbackSearches.increment();
+        return null;
+      }
+      indexedSearches.increment();
+      if (!query.tokens().isEmpty()) {
+        return matchTokens(query);
+      }
+      return switch (query.sort()) {
+        case PRICE -> scanInOrder(priceRange(query), query, query.hasPriceRange());
+        case NAME -> query.hasPriceRange() ? collectAndSort(priceOrdinals(query), query)
+            : scanInOrder(byName, query, false);
+        case ID -> query.hasPriceRange() ? collectAndSort(priceOrdinals(query), query) : scanById(query);
+      };
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes products written in the current transaction once it commits.
+   * Outside a transaction they are indexed immediately.
+   */
+  public void indexAfterCommit(Collection<Product> products) {
+    if (!properties.enabled() || overflowed || products.isEmpty()) {
+      return;
+    }
+    List<CatalogEntry> entries = products.stream().map(CatalogEntry::from).toList();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          add(entries);
+        }
+      });
+    } else {
+      add(entries);
+    }
+  }
+
+  /**
+   * Loads every product in ID order and then starts answering searches. Products that
+   * commit meanwhile are indexed by {@link #indexAfterCommit} and skipped here by ID.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!properties.enabled()) {
+      return;
+    }
+    long started = System.nanoTime();
+    long afterId = 0;
+    List<ProductSummary> batch;
+    do {
+      batch = productRepository.findSummariesAfter(afterId, Limit.of(WARM_UP_BATCH));
+      if (batch.isEmpty()) {
+        break;
+      }
+      add(batch.stream().map(row -> new CatalogEntry(row.id(), row.name(), row.priceMinor(), row.version())).toList());
+      afterId = batch.get(batch.size() - 1).id();
+    } while (batch.size() == WARM_UP_BATCH && !overflowed);
+
+    if (!overflowed) {
+      ready = true;
+      log.info("Product search index built with {} products in {} ms",
+          size(), (System.nanoTime() - started) / 1_000_000);
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void add(List<CatalogEntry> entries) {
+    lock.writeLock().lock();
+    try {
+      for (CatalogEntry entry : entries) {
+        if (overflowed) {
+          return;
+        }
+        if (ordinalsById.containsKey(entry.id())) {
+          continue;
+        }
+        if (docCount == properties.maxProducts()) {
+          drop();
+          return;
+        }
+        if (docCount == docs.length) {
+          docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        int ordinal = docCount++;
+        docs[ordinal] = entry;
+        ordinalsById.put(entry.id(), ordinal);
+        for (String token : ProductSearchQuery.tokenize(entry.name())) {
+          terms.computeIfAbsent(token, key -> new IntList()).add(ordinal);
+        }
+        insertById(byPrice.computeIfAbsent(entry.priceMinor(), key -> new IntList()), ordinal);
+        insertById(byName.computeIfAbsent(entry.name(), key -> new IntList()), ordinal);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Releases the index for good once the catalog outgrows it; searches go to the database.
+   */
+  private void drop() {
+    log.warn("Product catalog exceeds {} products; search falls back to the database", properties.maxProducts());
+    overflowed = true;
+    ready = false;
+    docs = new CatalogEntry[0];
+    docCount = 0;
+    ordinalsById.clear();
+    terms.clear();
+    byPrice.clear();
+    byName.clear();
+  }
+
+  /**
+   * Appends to a price or name posting list, keeping it in ID order so equal keys page by ID.
+   * Ordinals follow ID order except for products that commit while the warm-up is running.
+   */
+  private void insertById(IntList postings, int ordinal) {
+    postings.add(ordinal);
+    long id = docs[ordinal].id();
+    int i = postings.size() - 1;
+    while (i > 0 && docs[postings.get(i - 1)].id() > id) {
+      postings.set(i, postings.get(i - 1));
+      i--;
+    }
+    postings.set(i, ordinal);
+  }
+
+  private Result matchTokens(ProductSearchQuery query) {
+    BitSet matches = null;
+    for (String token : query.tokens()) {
+      BitSet tokenMatches = new BitSet(docCount);
+      // Every term starting with the token: the sorted range [token, token + U+FFFF)
+      for (IntList postings : terms.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+        for (int i = 0; i < postings.size(); i++) {
+          tokenMatches.set(postings.get(i));
+        }
+      }
+      if (matches == null) {
+        matches = tokenMatches;
+      } else {
+        matches.and(tokenMatches);
+      }
+      if (matches.isEmpty()) {
+        return new Result(List.of(), 0);
+      }
+    }
+    int count = 0;
+    for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+      if (query.priceInRange(docs[ordinal].priceMinor())) {
+        count++;
+      } else {
+        matches.clear(ordinal);
+      }
+    }
+    // Sorting costs about count * log(page end); walking an ordering that is already sorted
+    // costs about page end * docCount / count until the page is full. Broad matches walk.
+    long pageEnd = query.offset() + query.size();
+    if ((long) count * count > pageEnd * docCount) {
+      return walkInOrder(matches, count, query);
+    }
+    IntList candidates = new IntList();
+    for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+      candidates.add(ordinal);
+    }
+    return collectAndSort(candidates, query);
+  }
+
+  private Result walkInOrder(BitSet matches, int count, ProductSearchQuery query) {
+    List<CatalogEntry> page = new ArrayList<>(query.size());
+    long skipped = 0;
+    if (query.sort() == ProductSearchQuery.SortField.ID) {
+      for (int ordinal : (query.descending() ? ordinalsById.descendingMap() : ordinalsById).values()) {
+        if (matches.get(ordinal) && skipped++ >= query.offset()) {
+          page.add(docs[ordinal]);
+          if (page.size() == query.size()) {
+            break;
+          }
+        }
+      }
+      return new Result(page, count);
+    }
+    NavigableMap<?, IntList> ordered = query.sort() == ProductSearchQuery.SortField.PRICE ? priceRange(query) : byName;
+    for (IntList postings : (query.descending() ? ordered.descendingMap() : ordered).values()) {
+      int n = postings.size();
+      for (int i = 0; i < n; i++) {
+        int ordinal = postings.get(query.descending() ? n - 1 - i : i);
+        if (matches.get(ordinal) && skipped++ >= query.offset()) {
+          page.add(docs[ordinal]);
+          if (page.size() == query.size()) {
+            return new Result(page, count);
+          }
+        }
+      }
+    }
+    return new Result(page, count);
+  }
+
+  private NavigableMap<Long, IntList> priceRange(ProductSearchQuery query) {
+    NavigableMap<Long, IntList> range = byPrice;
+    if (query.minPrice() != null) {
+      range = range.tailMap(query.minPrice(), true);
+    }
+    if (query.maxPrice() != null) {
+      range = range.headMap(query.maxPrice(), true);
+    }
+    return range;
+  }
+
+  private IntList priceOrdinals(ProductSearchQuery query) {
+    IntList ordinals = new IntList();
+    for (IntList postings : priceRange(query).values()) {
+      for (int i = 0; i < postings.size(); i++) {
+        ordinals.add(postings.get(i));
+      }
+    }
+    return ordinals;
+  }
+
+  /**
+   * Pages through posting lists that are already in query order. When every document is
+   * in scope the total is known and the walk stops at the end of the page.
+   */
+  private Result scanInOrder(NavigableMap<?, IntList> postingsByKey, ProductSearchQuery query, boolean countAll) {
+    Collection<IntList> lists = (query.descending() ? postingsByKey.descendingMap() : postingsByKey).values();
+    List<CatalogEntry> page = new ArrayList<>(query.size());
+    long offset = query.offset();
+    long seen = 0;
+    for (IntList postings : lists) {
+      int n = postings.size();
+      if (seen + n > offset && page.size() < query.size()) {
+        for (int i = (int) Math.max(0, offset - seen); i < n && page.size() < query.size(); i++) {
+          page.add(docs[postings.get(query.descending() ? n - 1 - i : i)]);
+        }
+      }
+      seen += n;
+      if (!countAll && page.size() == query.size()) {
+        return new Result(page, docCount);
+      }
+    }
+    return new Result(page, countAll ? seen : docCount);
+  }
+
+  private Result scanById(ProductSearchQuery query) {
+    Collection<Integer> ordinals = query.descending() ? ordinalsById.descendingMap().values() : ordinalsById.values();
+    List<CatalogEntry> page = new ArrayList<>(query.size());
+    long skipped = 0;
+    for (int ordinal : ordinals) {
+      if (skipped++ < query.offset()) {
+        continue;
+      }
+      page.add(docs[ordinal]);
+      if (page.size() == query.size()) {
+        break;
+      }
+    }
+    return new Result(page, docCount);
+  }
+
+  /**
+   * Keeps the best {@code offset + size} candidates in a bounded heap and returns the last
+   * {@code size} of them, so a large match set is never fully sorted.
+   */
+  private Result collectAndSort(IntList candidates, ProductSearchQuery query) {
+    Comparator<Integer> order = comparator(query);
+    long keep = query.offset() + query.size();
+    PriorityQueue<Integer> best = new PriorityQueue<>((int) Math.min(keep, candidates.size()) + 1, order.reversed());
+    for (int i = 0; i < candidates.size(); i++) {
+      int ordinal = candidates.get(i);
+      if (best.size() < keep) {
+        best.add(ordinal);
+      } else if (order.compare(ordinal, best.peek()) < 0) {
+        best.poll();
+        best.add(ordinal);
+      }
+    }
+    CatalogEntry[] sorted = new CatalogEntry[best.size()];
+    for (int i = sorted.length - 1; i >= 0; i--) {
+      sorted[i] = docs[best.poll()];
+    }
+    List<CatalogEntry> page = sorted.length > query.offset()
+        ? Arrays.asList(sorted).subList((int) query.offset(), sorted.length)
+        : List.of();
+    return new Result(page, candidates.size());
+  }
+
+  private Comparator<Integer> comparator(ProductSearchQuery query) {
+    Comparator<Integer> byId = Comparator.comparingLong(ordinal -> docs[ordinal].id());
+    Comparator<Integer> order = switch (query.sort()) {
+      case ID -> byId;
+      case NAME -> Comparator.<Integer, String>comparing(ordinal -> docs[ordinal].name()).thenComparing(byId);
+      case PRICE -> Comparator.<Integer>comparingLong(ordinal -> docs[ordinal].priceMinor()).thenComparing(byId);
+    };
+    return query.descending() ? order.reversed() : order;
+  }
+}
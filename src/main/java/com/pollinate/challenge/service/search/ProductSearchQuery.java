@@ -0,0 +1,82 @@
+package com.pollinate.challenge.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A validated product search: every token must prefix a word of the product name, the
+ * price must lie within the inclusive bounds, and results are ordered by {@code sort}
+ * with ties broken by ID in the same direction.
+ *
+ * @param tokens     lower-case query tokens; empty matches every name
+ * @param minPrice   inclusive lower bound in minor units, or null
+ * @param maxPrice   inclusive upper bound in minor units, or null
+ * @param sort       primary ordering
+ * @param descending reverses the ordering, including the ID tie-break
+ * @param page       zero-based page number
+ * @param size       products per page
+ */
+public record ProductSearchQuery(
+    List<String> tokens,
+    Long minPrice,
+    Long maxPrice,
+    SortField sort,
+    boolean descending,
+    int page,
+    int size) {
+
+  public enum SortField {
+    ID("id"), NAME("name"), PRICE("priceMinor");
+
+    private final String property;
+
+    SortField(String property) {
+      this.property = property;
+    }
+
+    /** The entity property the database fallback orders by. */
+    public String property() {
+      return property;
+    }
+  }
+
+  /** Position of the page's first result; a long, so the largest page number cannot wrap. */
+  public long offset() {
+    return (long) page * size;
+  }
+
+  public boolean hasPriceRange() {
+    return minPrice != null || maxPrice != null;
+  }
+
+  public boolean priceInRange(long priceMinor) {
+    return (minPrice == null || priceMinor >= minPrice) && (maxPrice == null || priceMinor <= maxPrice);
+  }
+
+  /**
+   * Splits text into lower-case runs of letters and digits; the index applies it to product
+   * names and queries alike, so "Wi-Fi Router" holds the words "wi", "fi" and "router".
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null) {
+      return tokens;
+    }
+    String lower = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lower.length(); i++) {
+      boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        String token = lower.substring(start, i);
+        if (!tokens.contains(token)) {
+          tokens.add(token);
+        }
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,57 @@
+-- Migrates a database created by the original schema, where products and orders had IDENTITY
+-- IDs and orders referenced products through the order_products join table, to the schema
+-- the application now maps. Existing IDs are kept. Run once, with the application stopped
+-- (H2 syntax); afterwards spring.jpa.hibernate.ddl-auto=validate accepts the schema.
+--
+-- INCREMENT BY must equal challenge.ids.allocation-size (default 50); edit the three
+-- CREATE SEQUENCE statements for another size. The application refuses to start on a
+-- mismatch. Each sequence restarts just past the highest existing ID; with the pooled-lo
+-- optimizer that value is the first ID handed out.
+
+-- Products: sequence IDs, optimistic-lock version, search indexes
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE products SET version = 0 WHERE version IS NULL;
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products (price, id);
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, id);
+CREATE SEQUENCE IF NOT EXISTS product_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE product_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM products);
+
+-- Orders: sequence IDs, optimistic-lock version, async intake tracking ID, keyset index
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE orders SET version = 0 WHERE version IS NULL;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS tracking_id VARCHAR(36);
+ALTER TABLE orders ADD CONSTRAINT IF NOT EXISTS uk_orders_tracking_id UNIQUE (tracking_id);
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+CREATE SEQUENCE IF NOT EXISTS order_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE order_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM orders);
+
+-- Order lines replace order_products: one line per distinct product of an order, its
+-- quantity the number of times the product was listed. The original schema kept no price
+-- or name at order time, so lines take the product's current ones.
+CREATE TABLE IF NOT EXISTS order_lines (
+  id BIGINT NOT NULL PRIMARY KEY,
+  order_id BIGINT NOT NULL REFERENCES orders (id),
+  product_id BIGINT NOT NULL,
+  product_name VARCHAR(255) NOT NULL,
+  unit_price NUMERIC(38, 2) NOT NULL,
+  quantity INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_order_lines_order_id ON order_lines (order_id);
+INSERT INTO order_lines (id, order_id, product_id, product_name, unit_price, quantity)
+SELECT ROW_NUMBER() OVER (ORDER BY op.order_id, op.product_id), op.order_id, op.product_id, p.name, p.price, COUNT(*)
+FROM order_products op JOIN products p ON p.id = op.product_id
+GROUP BY op.order_id, op.product_id, p.name, p.price;
+CREATE SEQUENCE IF NOT EXISTS order_line_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE order_line_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM order_lines);
+DROP TABLE order_products;
+
+-- Stored idempotent responses (challenge.idempotency.persistent)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  scoped_key VARCHAR(512) NOT NULL PRIMARY KEY,
+  fingerprint VARCHAR(64) NOT NULL,
+  response CLOB NOT NULL,
+  created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
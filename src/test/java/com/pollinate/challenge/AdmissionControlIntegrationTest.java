@@ -0,0 +1,74 @@
+package com.pollinate.challenge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:admission",
+    "challenge.admission.enabled=true",
+    "challenge.admission.rate-limits[0].path=/api/products/**",
+    "challenge.admission.rate-limits[0].method=GET",
+    "challenge.admission.rate-limits[0].permits-per-second=0.1",
+    "challenge.admission.rate-limits[0].burst=2",
+    "challenge.admission.rate-limits[1].path=/api/orders/*",
+    "challenge.admission.rate-limits[1].permits-per-second=0.1",
+    "challenge.admission.rate-limits[1].burst=1"
+})
+@AutoConfigureMockMvc
+class AdmissionControlIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  @DisplayName("Admission: A principal over its rate limit gets 429 with Retry-After")
+  void overRateLimit_Returns429() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc.perform(get("/api/products").with(httpBasic("admin", "password")))
+          .andExpect(status().isOk());
+    }
+
+    mockMvc.perform(get("/api/products").with(httpBasic("admin", "password")))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+        .andExpect(jsonPath("$.error").value("Rate limit exceeded, please retry later"));
+
+    // Other endpoints are not covered by the rule
+    mockMvc.perform(get("/api/orders").with(httpBasic("admin", "password")))
+        .andExpect(status().isOk());
+
+    assertTrue(meterRegistry.get("http.admission").tag("outcome", "admitted").counter().count() >= 4);
+    assertTrue(meterRegistry.get("http.admission.limit").gauge().value() > 0);
+  }
+
+  @Test
+  @DisplayName("Admission: Missing or wrong credentials get 401, not 429, once the limit is reached")
+  void overRateLimit_BadCredentials_Returns401() throws Exception {
+    mockMvc.perform(get("/api/orders/1").with(httpBasic("admin", "password")));
+    mockMvc.perform(get("/api/orders/1").with(httpBasic("admin", "password")))
+        .andExpect(status().isTooManyRequests());
+
+    for (int i = 0; i < 5; i++) {
+      mockMvc.perform(get("/api/orders/1"))
+          .andExpect(status().isUnauthorized());
+      mockMvc.perform(get("/api/orders/1").with(httpBasic("admin", "wrong")))
+          .andExpect(status().isUnauthorized());
+    }
+  }
+}
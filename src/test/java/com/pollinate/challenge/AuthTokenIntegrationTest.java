@@ -0,0 +1,66 @@
+package com.pollinate.challenge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthTokenIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private String issueToken() throws Exception {
+    String body = mockMvc.perform(post("/api/auth/token").with(httpBasic("admin", "password")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.tokenType").value("Bearer"))
+        .andReturn().getResponse().getContentAsString();
+    return body.replaceAll(".*\"accessToken\":\"([^\"]+)\".*", "$1");
+  }
+
+  @Test
+  @DisplayName("Security: Exchange Basic credentials for a bearer token and use it")
+  void bearerToken_Authenticates() throws Exception {
+    String token = issueToken();
+
+    mockMvc.perform(get("/api/products").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Security: Reject a tampered bearer token")
+  void tamperedToken_Returns401() throws Exception {
+    String token = issueToken();
+
+    mockMvc.perform(get("/api/products").header("Authorization", "Bearer " + token + "x"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+  }
+
+  @Test
+  @DisplayName("Security: Reject token exchange authenticated by a bearer token")
+  void issueToken_BearerToken_Returns401() throws Exception {
+    String token = issueToken();
+
+    mockMvc.perform(post("/api/auth/token").header("Authorization", "Bearer " + token))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("Security: Reject token exchange with wrong credentials")
+  void issueToken_WrongPassword_Returns401() throws Exception {
+    mockMvc.perform(post("/api/auth/token").with(httpBasic("admin", "wrong")))
+        .andExpect(status().isUnauthorized());
+  }
+}
@@ -0,0 +1,140 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:encoding"
+})
+class ContentEncodingIntegrationTest {
+
+  private static final int PRODUCTS = 200;
+
+  // MockMvc bypasses the servlet container, and compression is applied by the container
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @BeforeEach
+  void setUp() {
+    if (productRepository.count() == 0) {
+      productRepository.saveAll(LongStream.rangeClosed(1, PRODUCTS)
+          .mapToObj(i -> Product.builder().name("Product " + i).priceMinor(i * 137).build())
+          .toList());
+    }
+  }
+
+  private HttpResponse<byte[]> listProducts(String accept, String acceptEncoding) throws Exception {
+    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+        .header("Authorization", "Basic " + Base64.getEncoder()
+            .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8)))
+        .header("Accept", accept);
+    if (acceptEncoding != null) {
+      request.header("Accept-Encoding", acceptEncoding);
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private int plainJsonSize() throws Exception {
+    return listProducts("application/json", null).body().length;
+  }
+
+  @Test
+  @DisplayName("Encoding: Gzip a large JSON listing when the client accepts it")
+  void listProducts_Gzip() throws Exception {
+    HttpResponse<byte[]> response = listProducts("application/json", "gzip");
+
+    assertEquals(200, response.statusCode());
+    assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      JsonNode products = JsonMapper.builder().build().readTree(body);
+      assertEquals(PRODUCTS, products.size());
+    }
+    assertTrue(response.body().length < plainJsonSize() / 2);
+  }
+
+  @Test
+  @DisplayName("Encoding: Leave the listing uncompressed without Accept-Encoding")
+  void listProducts_NoAcceptEncoding_Identity() throws Exception {
+    HttpResponse<byte[]> response = listProducts("application/json", null);
+
+    assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    assertEquals(PRODUCTS, JsonMapper.builder().build().readTree(response.body()).size());
+  }
+
+  @Test
+  @DisplayName("Encoding: Serve CBOR and Smile listings by content negotiation")
+  void listProducts_BinaryFormats() throws Exception {
+    int jsonSize = plainJsonSize();
+    assertBinaryListing("application/cbor", CBORMapper.builder().build(), jsonSize);
+    assertBinaryListing("application/x-jackson-smile", SmileMapper.builder().build(), jsonSize);
+  }
+
+  @Test
+  @DisplayName("Encoding: Mark negotiated responses and their 304s as varying by Accept")
+  void listProducts_VaryByAccept() throws Exception {
+    HttpResponse<byte[]> gzipped = listProducts("application/json", "gzip");
+    assertTrue(varies(gzipped, "accept"));
+    assertTrue(varies(gzipped, "accept-encoding"));
+
+    HttpResponse<byte[]> cbor = listProducts("application/cbor", null);
+    assertTrue(varies(cbor, "accept"));
+
+    HttpResponse<byte[]> notModified = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/products"))
+            .header("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8)))
+            .header("Accept", "application/cbor")
+            .header("If-None-Match", cbor.headers().firstValue("ETag").orElseThrow())
+            .build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+    assertEquals(304, notModified.statusCode());
+    assertTrue(varies(notModified, "accept"));
+  }
+
+  private static boolean varies(HttpResponse<?> response, String header) {
+    return response.headers().allValues("Vary").stream()
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .anyMatch(value -> value.trim().equalsIgnoreCase(header));
+  }
+
+  private void assertBinaryListing(String mediaType, ObjectMapper mapper, int jsonSize) throws Exception {
+    HttpResponse<byte[]> response = listProducts(mediaType, null);
+
+    assertEquals(200, response.statusCode());
+    assertEquals(mediaType, response.headers().firstValue("Content-Type").orElse(null));
+    JsonNode products = mapper.readTree(response.body());
+    assertEquals(PRODUCTS, products.size());
+    assertTrue(products.get(0).has("price"));
+    assertTrue(response.body().length < jsonSize, mediaType + " should be smaller than JSON");
+  }
+}
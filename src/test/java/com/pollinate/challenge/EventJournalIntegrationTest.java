@@ -0,0 +1,82 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.journal.JournalRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventJournalIntegrationTest {
+
+  @TempDir
+  Path journalDirectory;
+
+  // Each start gets a fresh in-memory database, like a restarted process
+  private ConfigurableApplicationContext start(String database) {
+    return new SpringApplicationBuilder(ChallengeApplication.class)
+        .run("--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:" + database,
+            "--challenge.journal.enabled=true",
+            "--challenge.journal.directory=" + journalDirectory,
+            "--challenge.journal.segment-size=64KB");
+  }
+
+  @Test
+  @DisplayName("Journal: Products and orders survive a restart with their IDs")
+  void restart_ReplaysJournal() {
+    Long productId;
+    OrderResponse order;
+    try (ConfigurableApplicationContext context = start("journal-first")) {
+      productId = context.getBean(ProductRepository.class).save(Product.builder()
+          .name("Widget").priceMinor(1250).build()).getId();
+      order = context.getBean(OrderService.class).createOrder(new OrderRequest(List.of(productId, productId)));
+    }
+
+    try (ConfigurableApplicationContext context = start("journal-second")) {
+      Product product = context.getBean(ProductRepository.class).findById(productId).orElseThrow();
+      assertEquals("Widget", product.getName());
+      OrderService orderService = context.getBean(OrderService.class);
+      OrderResponse restored = orderService.getOrderById(order.getId());
+      assertEquals(0, order.getTotalPrice().compareTo(restored.getTotalPrice()));
+      assertEquals(order.getCreatedAt(), restored.getCreatedAt());
+      assertEquals(order.getLines(), restored.getLines());
+
+      // Sequences restart past the replayed IDs, so new orders and lines do not collide
+      OrderResponse next = orderService.createOrder(new OrderRequest(List.of(productId)));
+      assertTrue(next.getId() > order.getId());
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: A snapshot replaces the segments it covers and is replayed with the tail")
+  void restart_ReplaysSnapshotAndTail() throws Exception {
+    Long first;
+    Long second;
+    try (ConfigurableApplicationContext context = start("snapshot-first")) {
+      ProductRepository products = context.getBean(ProductRepository.class);
+      first = products.save(Product.builder().name("Before").priceMinor(100).build()).getId();
+      JournalRecorder.SnapshotResult snapshot = context.getBean(JournalRecorder.class).snapshot();
+      assertEquals(1, snapshot.events());
+      second = products.save(Product.builder().name("After").priceMinor(1000).build()).getId();
+    }
+
+    try (ConfigurableApplicationContext context = start("snapshot-second")) {
+      ProductRepository products = context.getBean(ProductRepository.class);
+      assertEquals("Before", products.findById(first).orElseThrow().getName());
+      assertEquals("After", products.findById(second).orElseThrow().getName());
+      assertEquals(2, products.count());
+    }
+  }
+}
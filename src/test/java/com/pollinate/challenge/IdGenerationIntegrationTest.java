@@ -0,0 +1,141 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ids",
+    "challenge.ids.allocation-size=10"
+})
+class IdGenerationIntegrationTest {
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private long sequenceValue(JdbcTemplate jdbc, String sequence) {
+    return jdbc.queryForObject(
+        "select base_value from information_schema.sequences where sequence_name = ?", Long.class, sequence);
+  }
+
+  @Test
+  @DisplayName("IDs: Create every sequence with the configured allocation size")
+  void sequences_UseConfiguredIncrement() {
+    List<Long> increments = jdbcTemplate.queryForList(
+        "select increment from information_schema.sequences where sequence_name in ('PRODUCT_SEQ', 'ORDER_SEQ', 'ORDER_LINE_SEQ')",
+        Long.class);
+
+    assertEquals(List.of(10L, 10L, 10L), increments);
+  }
+
+  @Test
+  @DisplayName("IDs: Reserve one block of IDs per sequence call")
+  void saveAll_OneSequenceCallPerBlock() {
+    long before = sequenceValue(jdbcTemplate, "PRODUCT_SEQ");
+
+    List<Product> saved = productRepository.saveAll(IntStream.range(0, 25)
+        .mapToObj(i -> Product.builder().name("P" + i).priceMinor(100).build())
+        .toList());
+
+    // 25 IDs from blocks of 10 take three calls
+    assertEquals(before + 30, sequenceValue(jdbcTemplate, "PRODUCT_SEQ"));
+    assertEquals(24, saved.get(24).getId() - saved.get(0).getId());
+  }
+
+  @Test
+  @DisplayName("IDs: Migrate the original IDENTITY schema to one Hibernate validates, keeping existing IDs")
+  void migrationScript_OriginalSchema_ValidatesAndKeepsIds() throws Exception {
+    JdbcTemplate legacy = migratedLegacyDatabase("identity-schema");
+
+    assertEquals(List.of(1L, 2L, 3L), legacy.queryForList("select id from products order by id", Long.class));
+    assertEquals(List.of(Map.of("ORDER_ID", 1L, "PRODUCT_ID", 1L, "QUANTITY", 2),
+            Map.of("ORDER_ID", 1L, "PRODUCT_ID", 3L, "QUANTITY", 1),
+            Map.of("ORDER_ID", 2L, "PRODUCT_ID", 2L, "QUANTITY", 1)),
+        legacy.queryForList("select order_id, product_id, quantity from order_lines order by id"));
+    assertEquals(4L, legacy.queryForObject("select next value for product_seq", Long.class));
+    // The column no longer generates values: IDs must now come from the sequence
+    assertThrows(Exception.class, () -> legacy.execute("insert into products (name, price) values ('d', 1)"));
+
+    try (ConfigurableApplicationContext context = startOn("identity-schema", 50)) {
+      OrderService orderService = context.getBean(OrderService.class);
+      OrderResponse migrated = orderService.getOrderById(1L);
+      assertEquals(new BigDecimal("25.00"), migrated.getTotalPrice());
+      assertEquals(2, migrated.getLines().getFirst().getQuantity());
+
+      OrderResponse created = orderService.createOrder(new OrderRequest(List.of(1L, 2L)));
+      assertEquals(3L, created.getId());
+    }
+  }
+
+  @Test
+  @DisplayName("IDs: Refuse to start when a sequence increment differs from the allocation size")
+  void startup_IncrementMismatch_Fails() throws Exception {
+    migratedLegacyDatabase("identity-schema-mismatch");
+
+    Exception failure = assertThrows(Exception.class, () -> startOn("identity-schema-mismatch", 10).close());
+    Throwable cause = failure;
+    while (cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    assertTrue(cause.getMessage().contains("database sequence increment size is [50]"), cause.getMessage());
+  }
+
+  // The schema Hibernate generated for the original entities, with a few rows
+  private JdbcTemplate migratedLegacyDatabase(String database) throws Exception {
+    JdbcTemplate legacy = new JdbcTemplate(
+        new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    legacy.execute("""
+        create table products (price numeric(38,2) not null, id bigint generated by default as identity,
+            name varchar(255) not null, primary key (id));
+        create table orders (total_price numeric(38,2) not null, created_at timestamp(6) not null,
+            id bigint generated by default as identity, primary key (id));
+        create table order_products (order_id bigint not null, product_id bigint not null);
+        alter table if exists order_products add constraint fk_order_products_product
+            foreign key (product_id) references products;
+        alter table if exists order_products add constraint fk_order_products_order
+            foreign key (order_id) references orders;
+        insert into products (name, price) values ('a', 10.00), ('b', 7.50), ('c', 5.00);
+        insert into orders (total_price, created_at) values (25.00, timestamp '2024-05-01 12:00:00'),
+            (7.50, timestamp '2024-05-02 12:00:00');
+        insert into order_products (order_id, product_id) values (1, 1), (1, 3), (1, 1), (2, 2);
+        """);
+
+    try (Connection connection = legacy.getDataSource().getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migrate-identity-schema.sql"));
+    }
+    return legacy;
+  }
+
+  private ConfigurableApplicationContext startOn(String database, int allocationSize) {
+    return new SpringApplicationBuilder(ChallengeApplication.class)
+        .run("--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+            "--spring.jpa.hibernate.ddl-auto=validate",
+            "--challenge.ids.allocation-size=" + allocationSize);
+  }
+}
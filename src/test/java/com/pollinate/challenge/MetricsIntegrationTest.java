@@ -0,0 +1,68 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@WithMockUser
+class MetricsIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Test
+  @DisplayName("Metrics: Service calls are timed by outcome and visible in /actuator/metrics")
+  void serviceTimers_TaggedByOutcome() throws Exception {
+    Long productId = productRepository.save(Product.builder().name("Meter").priceMinor(100).build()).getId();
+
+    mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\":[" + productId + "]}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(get("/api/orders/999999"))
+        .andExpect(status().isNotFound());
+
+    mockMvc.perform(get("/actuator/metrics/service.method")
+            .param("tag", "method:createOrder", "outcome:success"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").value(1.0));
+    mockMvc.perform(get("/actuator/metrics/service.method")
+            .param("tag", "method:getOrderById", "outcome:not_found"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").value(1.0));
+    mockMvc.perform(get("/actuator/metrics/order.create.phase").param("tag", "phase:resolve"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Metrics: Prometheus scrape includes service, Hibernate and connection pool meters")
+  void prometheusScrape_IncludesPersistenceMeters() throws Exception {
+    mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+    mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("service_method_seconds_bucket")))
+        .andExpect(content().string(containsString("hibernate_statements_total")))
+        .andExpect(content().string(containsString("hikaricp_connections_active")));
+  }
+}
@@ -1,5 +1,8 @@
 package com.pollinate.challenge;
 
+import com.jayway.jsonpath.JsonPath;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
 import com.pollinate.challenge.domain.Product;
 import com.pollinate.challenge.repository.OrderRepository;
 import com.pollinate.challenge.repository.ProductRepository;
@@ -14,10 +17,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,7 +52,7 @@ class OrderApiIntegrationTest {
     // Seed product without forcing an ID to avoid LockingFailure
     Product product = Product.builder()
         .name("Standard Widget")
-        .price(new BigDecimal("25.50"))
+        .priceMinor(2550)
         .build();
 
     Product savedProduct = productRepository.save(product);
@@ -65,7 +71,41 @@ class OrderApiIntegrationTest {
             .content(jsonRequest))
         .andExpect(status().isCreated())
         .andExpect(jsonPath("$.totalPrice").value(25.50))
-        .andExpect(jsonPath("$.products[0].name").value("Standard Widget"));
+        .andExpect(jsonPath("$.lines[0].name").value("Standard Widget"))
+        .andExpect(jsonPath("$.lines[0].quantity").value(1));
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Replay a retried order with the same Idempotency-Key")
+  void createOrder_IdempotencyKey_ReplaysResponse() throws Exception {
+    String jsonRequest = String.format("{\"productIds\": [%d]}", savedProductId);
+    String key = UUID.randomUUID().toString();
+    long ordersBefore = orderRepository.count();
+
+    String first = mockMvc.perform(post("/api/orders")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(jsonRequest))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Idempotent-Replayed", "false"))
+        .andReturn().getResponse().getContentAsString();
+
+    mockMvc.perform(post("/api/orders")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(jsonRequest))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Idempotent-Replayed", "true"))
+        .andExpect(content().json(first));
+
+    mockMvc.perform(post("/api/orders")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\": [99999]}"))
+        .andExpect(status().isConflict());
+
+    assertEquals(ordersBefore + 1, orderRepository.count());
   }
 
   @Test
@@ -82,6 +122,23 @@ class OrderApiIntegrationTest {
         .andExpect(jsonPath("$.error").exists());
   }
 
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Create a batch of orders with a result per order")
+  void createOrders_Batch() throws Exception {
+    String jsonRequest = String.format("[{\"productIds\": [%d]}, {\"productIds\": [99999]}]", savedProductId);
+
+    mockMvc.perform(post("/api/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(jsonRequest))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.results[0].totalPrice").value(25.50))
+        .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+  }
+
   @Test
   @DisplayName("Security: Reject access to order list when unauthenticated")
   void getAllOrders_Unauthenticated_Returns401() throws Exception {
@@ -96,5 +153,74 @@ class OrderApiIntegrationTest {
     mockMvc.perform(get("/api/orders"))
         .andExpect(status().isOk());
   }
-}
 
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Page through orders with a keyset cursor")
+  void getAllOrders_PagesWithCursor() throws Exception {
+    Product product = productRepository.findById(savedProductId).orElseThrow();
+    for (int i = 0; i < 3; i++) {
+      Order order = Order.builder().totalPriceMinor(product.getPriceMinor()).build();
+      order.addLine(OrderLine.builder()
+          .productId(product.getId())
+          .productName(product.getName())
+          .unitPriceMinor(product.getPriceMinor())
+          .quantity(1)
+          .build());
+      orderRepository.save(order);
+    }
+
+    String body = mockMvc.perform(get("/api/orders").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orders.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = body.replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+
+    mockMvc.perform(get("/api/orders").param("limit", "2").param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orders.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Return 400 for an invalid page limit")
+  void getAllOrders_InvalidLimit_Returns400() throws Exception {
+    mockMvc.perform(get("/api/orders").param("limit", "1000"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").exists());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Answer a matching If-None-Match on an order with 304")
+  void getOrderById_IfNoneMatch_Returns304() throws Exception {
+    String created = mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(String.format("{\"productIds\": [%d]}", savedProductId)))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    long orderId = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+    String etag = mockMvc.perform(get("/api/orders/" + orderId))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/orders/" + orderId).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Revalidate an order list page by its body hash")
+  void getAllOrders_IfNoneMatch_Returns304() throws Exception {
+    String etag = mockMvc.perform(get("/api/orders"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/orders").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+  }
+}
@@ -0,0 +1,128 @@
+package com.pollinate.challenge;
+
+import com.jayway.jsonpath.JsonPath;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.intake.OrderIntake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:intake",
+    "challenge.orders.intake.enabled=true",
+    "challenge.orders.intake.journal=target/intake-test/order-intake.journal"
+})
+@AutoConfigureMockMvc
+class OrderIntakeIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private OrderIntake orderIntake;
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Intake: Accept an order with 202 and persist it in the background")
+  void createOrder_Accepted_ThenCreated() throws Exception {
+    Long productId = productRepository.save(Product.builder()
+        .name("Widget").priceMinor(1250).build()).getId();
+
+    String receipt = mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(String.format("{\"productIds\": [%d, %d]}", productId, productId)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().exists("Location"))
+        .andExpect(jsonPath("$.totalPrice").value(25.00))
+        .andReturn().getResponse().getContentAsString();
+    String trackingId = JsonPath.read(receipt, "$.trackingId");
+
+    String status = "QUEUED";
+    String body = null;
+    for (int attempt = 0; attempt < 50 && status.equals("QUEUED"); attempt++) {
+      Thread.sleep(100);
+      body = mockMvc.perform(get("/api/orders/intake/" + trackingId))
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getContentAsString();
+      status = JsonPath.read(body, "$.status");
+    }
+    assertEquals("CREATED", status);
+
+    Number orderId = JsonPath.read(body, "$.orderId");
+    mockMvc.perform(get("/api/orders/" + orderId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.lines[0].quantity").value(2));
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Intake: A retry with the same Idempotency-Key gets the first receipt and queues nothing")
+  void createOrder_RepeatedIdempotencyKey_AcceptsOnce() throws Exception {
+    Long productId = productRepository.save(Product.builder()
+        .name("Gadget").priceMinor(800).build()).getId();
+    long ordersBefore = orderRepository.count();
+    String content = String.format("{\"productIds\": [%d]}", productId);
+
+    String first = mockMvc.perform(post("/api/orders")
+            .header("Idempotency-Key", "intake-retry-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Idempotent-Replayed", "false"))
+        .andReturn().getResponse().getContentAsString();
+    String trackingId = JsonPath.read(first, "$.trackingId");
+
+    mockMvc.perform(post("/api/orders")
+            .header("Idempotency-Key", "intake-retry-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Idempotent-Replayed", "true"))
+        .andExpect(header().string("Location", "/api/orders/intake/" + trackingId))
+        .andExpect(jsonPath("$.trackingId").value(trackingId));
+
+    for (int attempt = 0; attempt < 50 && orderIntake.queued() > 0; attempt++) {
+      Thread.sleep(100);
+    }
+    assertEquals(ordersBefore + 1, orderRepository.count());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Intake: Reject an order for unknown products before queueing it")
+  void createOrder_UnknownProduct_Returns404() throws Exception {
+    mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\": [999999]}"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Intake: Return 404 for an unknown tracking ID")
+  void getOrderReceipt_Unknown_Returns404() throws Exception {
+    mockMvc.perform(get("/api/orders/intake/not-a-tracking-id"))
+        .andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,91 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.controller.dto.OrderPageResponse;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderQueryCountIntegrationTest {
+
+  @Autowired private OrderService orderService;
+  @Autowired private OrderRepository orderRepository;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private EntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private Long firstOrderId;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    productRepository.deleteAll();
+
+    List<Product> products = productRepository.saveAll(List.of(
+        Product.builder().name("A").priceMinor(100).build(),
+        Product.builder().name("B").priceMinor(200).build(),
+        Product.builder().name("C").priceMinor(1000).build()));
+    for (int i = 0; i < 12; i++) {
+      Order order = Order.builder().totalPriceMinor(1300).build();
+      products.forEach(product -> order.addLine(OrderLine.builder()
+          .productId(product.getId())
+          .productName(product.getName())
+          .unitPriceMinor(product.getPriceMinor())
+          .quantity(1)
+          .build()));
+      orderRepository.save(order);
+      if (firstOrderId == null) {
+        firstOrderId = order.getId();
+      }
+    }
+
+    // Start every measurement from an empty persistence context
+    entityManager.flush();
+    entityManager.clear();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  @DisplayName("Performance: A page of orders loads in two statements regardless of its size")
+  void getAllOrders_FixedStatementCount() {
+    OrderPageResponse small = orderService.getAllOrders(2, null, null, null);
+    long smallPageStatements = statistics.getPrepareStatementCount();
+
+    entityManager.clear();
+    statistics.clear();
+    OrderPageResponse large = orderService.getAllOrders(10, null, null, null);
+
+    assertEquals(2, smallPageStatements);
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(3, small.getOrders().get(1).getLines().size());
+    assertEquals(3, large.getOrders().get(9).getLines().size());
+  }
+
+  @Test
+  @DisplayName("Performance: A single order and its lines load in one statement")
+  void getOrderById_SingleStatement() {
+    orderService.getOrderById(firstOrderId);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+}
@@ -20,6 +20,8 @@ import java.math.BigDecimal;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,7 +47,7 @@ class ProductApiIntegrationTest {
     productRepository.deleteAll();
     Product product = productRepository.save(Product.builder()
         .name("Existing Product")
-        .price(new BigDecimal("50.00"))
+        .priceMinor(5000)
         .build());
     this.savedProductId = product.getId();
   }
@@ -100,4 +102,81 @@ class ProductApiIntegrationTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.length()").value(1));
   }
-}
\ No newline at end of file
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Bulk import products from a JSON array")
+  void importProducts_JsonArray() throws Exception {
+    String body = "[{\"name\":\"A\",\"price\":1.00},{\"name\":\"B\",\"price\":2.00}]";
+
+    mockMvc.perform(post("/api/products/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.batches[0].status").value("IMPORTED"));
+
+    mockMvc.perform(get("/api/products"))
+        .andExpect(jsonPath("$.length()").value(3));
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Bulk import products from NDJSON and report a malformed line")
+  void importProducts_NdjsonWithMalformedLine() throws Exception {
+    String body = "{\"name\":\"A\",\"price\":1.00}\n{\"name\":\"B\",\"price\":2.00}\n{\"name\":";
+
+    mockMvc.perform(post("/api/products/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.error").exists());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Answer a matching If-None-Match with 304 and no body")
+  void getProductById_IfNoneMatch_Returns304() throws Exception {
+    String etag = mockMvc.perform(get("/api/products/" + savedProductId))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/products/" + savedProductId).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    mockMvc.perform(get("/api/products/" + savedProductId).header("If-None-Match", "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Existing Product"));
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: Revalidate the product list by its catalog ETag")
+  void getAllProducts_IfNoneMatch_Returns304() throws Exception {
+    String etag = mockMvc.perform(get("/api/products"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Integration: A product written outside this instance's services changes the list ETag")
+  void getAllProducts_ExternalWrite_Returns200() throws Exception {
+    String etag = mockMvc.perform(get("/api/products"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    // As another instance would: straight to the database, bypassing this one's catalog
+    productRepository.save(Product.builder().name("Written Elsewhere").priceMinor(700).build());
+
+    mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+  }
+}
@@ -0,0 +1,147 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.controller.dto.ProductSearchResponse;
+import com.pollinate.challenge.service.ProductService;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-search")
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductSearchIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @MockitoSpyBean
+  private ProductSearchIndex searchIndex;
+
+  @Test
+  @DisplayName("Search: A created product is searchable by word prefixes as soon as it commits")
+  void search_FindsCreatedProduct() throws Exception {
+    mockMvc.perform(post("/api/products")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\":\"Quartz Desk Lamp\",\"price\":30.00}"))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/api/products/search").param("name", "desk QUA"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(1))
+        .andExpect(jsonPath("$.products[0].name").value("Quartz Desk Lamp"))
+        .andExpect(jsonPath("$.page").value(0))
+        .andExpect(jsonPath("$.size").value(20));
+
+    mockMvc.perform(get("/api/products/search").param("name", "quartz shade"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(0));
+  }
+
+  @Test
+  @DisplayName("Search: The index and the database fallback return the same pages")
+  void search_IndexMatchesDatabase() {
+    productService.importProducts(IntStream.range(0, 40)
+        .mapToObj(i -> new ProductRequest("Zephyr " + (i % 3 == 0 ? "Kettle " : "Toaster ") + i,
+            BigDecimal.valueOf(10 + i % 7)))
+        .iterator());
+
+    double indexedBefore = indexedSearches();
+    List<ProductSearchResponse> indexed = runQueries();
+    assertTrue(searchIndex.isReady());
+    assertEquals(indexedBefore + indexed.size(),
+        indexedSearches());
+
+    doReturn(null).when(searchIndex).search(any());
+    try {
+      // Compared by ID: indexed prices keep the scale they were created with, the column's is 2
+      assertEquals(idsAndTotals(indexed), idsAndTotals(runQueries()));
+    } finally {
+      reset(searchIndex);
+    }
+
+    ProductSearchResponse kettles = indexed.get(1);
+    assertEquals(14, kettles.getTotal());
+    assertTrue(kettles.getProducts().stream().allMatch(p -> p.getName().startsWith("Zephyr Kettle")));
+  }
+
+  @Test
+  @DisplayName("Search: Reject invalid ranges, page sizes and sort fields")
+  void search_InvalidParameters_Returns400() throws Exception {
+    mockMvc.perform(get("/api/products/search").param("minPrice", "20").param("maxPrice", "10"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("size", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("page", "100").param("size", "100"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("sort", "colour"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("sort", "price,sideways"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Search: The largest page number is rejected with 400, not wrapped to an earlier page")
+  void search_LargestPage_Returns400() throws Exception {
+    String lastPage = String.valueOf(Integer.MAX_VALUE);
+    mockMvc.perform(get("/api/products/search").param("page", lastPage).param("size", "1"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("page", lastPage).param("size", "100")
+            .param("minPrice", "1").param("sort", "name"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/products/search").param("page", lastPage).param("size", "100").param("name", "kettle"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private List<String> idsAndTotals(List<ProductSearchResponse> responses) {
+    return responses.stream()
+        .map(r -> r.getTotal() + ":" + r.getProducts().stream().map(ProductResponse::getId).toList())
+        .toList();
+  }
+
+  private double indexedSearches() {
+    return meterRegistry.get("product.search.queries").tag("source", "index").functionCounter().count();
+  }
+
+  private List<ProductSearchResponse> runQueries() {
+    BigDecimal eleven = new BigDecimal("11");
+    BigDecimal fourteen = new BigDecimal("14.00");
+    List<ProductSearchResponse> responses = new ArrayList<>();
+    responses.add(productService.searchProducts("zephyr", null, null, null, 0, 100));
+    responses.add(productService.searchProducts("zeph ket", null, null, "price,desc", 0, 100));
+    responses.add(productService.searchProducts("zephyr", eleven, fourteen, "name", 1, 5));
+    responses.add(productService.searchProducts("toaster 2", null, fourteen, "id,desc", 0, 3));
+    responses.add(productService.searchProducts("zephyr", eleven, null, "price", 2, 4));
+    return responses;
+  }
+}
@@ -0,0 +1,154 @@
+package com.pollinate.challenge;
+
+import com.jayway.jsonpath.JsonPath;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import com.pollinate.challenge.service.report.SalesRollup;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import com.pollinate.challenge.service.search.ProductSearchQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rw-primary",
+    "challenge.read-replica.enabled=true",
+    "challenge.read-replica.url=jdbc:h2:mem:rw-replica;DB_CLOSE_DELAY=-1",
+    // The replica has no schema until the first test copies it: startup rebuilds must not read it
+    "challenge.read-replica.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadReplicaIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ProductCatalog productCatalog;
+
+  @Autowired
+  private ProductSearchIndex searchIndex;
+
+  @Autowired
+  private SalesRollup salesRollup;
+
+  private JdbcTemplate primary;
+
+  private final JdbcTemplate replica =
+      new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:rw-replica;DB_CLOSE_DELAY=-1", "sa", ""));
+
+  @BeforeEach
+  void setUp() {
+    primary = new JdbcTemplate(primaryDataSource);
+    replicate();
+  }
+
+  // Stand-in for replication: copy the primary's schema and rows to the replica
+  private void replicate() {
+    List<String> script = primary.queryForList("SCRIPT", String.class);
+    replica.execute("DROP ALL OBJECTS");
+    script.forEach(replica::execute);
+  }
+
+  // Written straight to the primary, so no user is recorded as having written
+  private void insertProduct(long id, String name, BigDecimal price) {
+    primary.update("insert into products (id, name, price, version) values (?, ?, ?, 0)", id, name, price);
+  }
+
+  private double connections(String route, String reason) {
+    return meterRegistry.get("datasource.connections").tag("route", route).tag("reason", reason).counter().count();
+  }
+
+  @Test
+  @WithMockUser(username = "reader")
+  @DisplayName("Replica: Read-only transactions are served by the replica")
+  void readOnly_UsesReplica() throws Exception {
+    insertProduct(900_001, "Lagging", BigDecimal.ONE);
+    double replicaReads = connections("replica", "read");
+
+    mockMvc.perform(get("/api/products/900001"))
+        .andExpect(status().isNotFound());
+
+    replicate();
+    mockMvc.perform(get("/api/products/900001"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Lagging"));
+    assertEquals(4, connections("replica", "read") - replicaReads);
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Replica: A user's reads stay on the primary right after they write")
+  void afterWrite_ReadsOwnWrites() throws Exception {
+    insertProduct(900_002, "Widget", new BigDecimal("12.50"));
+    replicate();
+    double ownReads = connections("primary", "read-your-writes");
+
+    String body = mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\": [900002]}"))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+    Number orderId = JsonPath.read(body, "$.id");
+
+    // The replica has not caught up, but the writer reads from the primary
+    mockMvc.perform(get("/api/orders/" + orderId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalPrice").value(12.50));
+    mockMvc.perform(get("/api/orders/" + orderId).with(user("someone-else")))
+        .andExpect(status().isNotFound());
+    assertEquals(2, connections("primary", "read-your-writes") - ownReads);
+  }
+
+  @Test
+  @WithMockUser(username = "admin")
+  @DisplayName("Replica: Catalog, search index and rollup rebuilds read rows the replica lacks")
+  void rebuilds_ReadPrimary() throws Exception {
+    insertProduct(900_003, "Unreplicated Lamp", new BigDecimal("4.00"));
+    mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\": [900003]}"))
+        .andExpect(status().isCreated());
+    assertEquals(0, replica.queryForObject("select count(*) from products where id = 900003", Long.class));
+
+    productCatalog.warmUp();
+    searchIndex.warmUp();
+    salesRollup.rebuild();
+
+    assertNotNull(productCatalog.get(900_003L));
+    assertTrue(searchIndex.isReady());
+    ProductSearchQuery lamp = new ProductSearchQuery(ProductSearchQuery.tokenize("unreplicated"), null, null,
+        ProductSearchQuery.SortField.ID, false, 0, 10);
+    assertEquals(1, searchIndex.search(lamp).total());
+    assertEquals(primary.queryForObject("select count(*) from orders", Long.class), salesRollup.overall().orders());
+  }
+}
@@ -0,0 +1,92 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reports")
+@AutoConfigureMockMvc
+@WithMockUser
+class ReportApiIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Test
+  @DisplayName("Reporting: Sales rollups follow new orders and survive a rebuild")
+  void salesReport_UpdatedByOrdersAndRebuild() throws Exception {
+    Long a = productRepository.save(Product.builder().name("Alpha").priceMinor(200).build()).getId();
+    Long b = productRepository.save(Product.builder().name("Beta").priceMinor(500).build()).getId();
+
+    mockMvc.perform(post("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"productIds\":[%d,%d,%d]}".formatted(a, a, b)))
+        .andExpect(status().isCreated());
+    mockMvc.perform(post("/api/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"productIds\":[%d]}]".formatted(b)))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/reports/sales"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalOrders").value(2))
+        .andExpect(jsonPath("$.totalRevenue").value(14.00))
+        .andExpect(jsonPath("$.rows[0].name").value("Beta"))
+        .andExpect(jsonPath("$.rows[0].orders").value(2))
+        .andExpect(jsonPath("$.rows[1].units").value(2));
+
+    mockMvc.perform(post("/api/reports/sales/rebuild"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orders").value(2));
+
+    mockMvc.perform(get("/api/reports/sales").param("groupBy", "day"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows.length()").value(1))
+        .andExpect(jsonPath("$.rows[0].orders").value(2))
+        .andExpect(jsonPath("$.rows[0].revenue").value(14.00));
+
+    // Totals cover only the buckets in range
+    mockMvc.perform(get("/api/reports/sales").param("groupBy", "day")
+            .param("from", "2000-01-01T00:00:00").param("to", "2000-01-02T00:00:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows.length()").value(0))
+        .andExpect(jsonPath("$.totalOrders").value(0))
+        .andExpect(jsonPath("$.totalRevenue").value(0));
+    mockMvc.perform(get("/api/reports/sales").param("groupBy", "hour").param("from", "2000-01-01T00:00:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalOrders").value(2))
+        .andExpect(jsonPath("$.totalRevenue").value(14.00));
+  }
+
+  @Test
+  @DisplayName("Reporting: Reject a range for product totals, which are all-time")
+  void salesReport_ProductRange_Returns400() throws Exception {
+    mockMvc.perform(get("/api/reports/sales").param("from", "2000-01-01T00:00:00"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/reports/sales").param("groupBy", "product").param("to", "2100-01-01T00:00:00"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Reporting: Reject an unknown grouping")
+  void salesReport_InvalidGroupBy_Returns400() throws Exception {
+    mockMvc.perform(get("/api/reports/sales").param("groupBy", "week"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,88 @@
+package com.pollinate.challenge;
+
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.OrderService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:virtualthreads",
+    // A small pool forces virtual threads to park while waiting for a connection
+    "spring.datasource.hikari.maximum-pool-size=4",
+    // The profile's fail-fast timeout is meant for serving traffic, not a 200-task burst on a slow CI box
+    "spring.datasource.hikari.connection-timeout=30000"
+})
+@ActiveProfiles("virtual-threads")
+class VirtualThreadModeIntegrationTest {
+
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  private AsyncTaskExecutor applicationTaskExecutor;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Test
+  @DisplayName("Virtual threads: Application task executor runs work on virtual threads")
+  void applicationTaskExecutor_UsesVirtualThreads() throws Exception {
+    Future<Boolean> isVirtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual());
+
+    assertTrue(isVirtual.get());
+  }
+
+  @Test
+  @DisplayName("Virtual threads: Concurrent order traffic does not pin carrier threads")
+  void concurrentOrders_DoNotPinCarriers() throws Exception {
+    Long productId = productRepository.save(Product.builder().name("Widget").priceMinor(1000).build()).getId();
+    Path dump = Files.createTempFile("pinning", ".jfr");
+
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      recording.start();
+
+      try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+        List<Future<?>> calls = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          calls.add(clients.submit(() -> {
+            Long orderId = orderService.createOrder(new OrderRequest(List.of(productId))).getId();
+            return orderService.getOrderById(orderId);
+          }));
+        }
+        for (Future<?> call : calls) {
+          call.get();
+        }
+      }
+
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump);
+    Files.deleteIfExists(dump);
+    assertEquals(List.of(), pinned.stream().map(event -> event.getStackTrace().toString()).toList());
+  }
+}
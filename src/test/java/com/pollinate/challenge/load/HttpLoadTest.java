@@ -0,0 +1,142 @@
+package com.pollinate.challenge.load;
+
+import com.pollinate.challenge.controller.dto.OrderBatchResult;
+import com.pollinate.challenge.controller.dto.OrderRequest;
+import com.pollinate.challenge.controller.dto.ProductRequest;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.OrderService;
+import com.pollinate.challenge.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the running application over real HTTP. Excluded from the default build; run with
+ * {@code ./mvnw -Pload-test test -Dload.rate=500 -Dload.durationSeconds=30}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest",
+    "logging.level.com.pollinate.challenge=WARN"
+})
+class HttpLoadTest {
+
+  private static final int SEED_BATCH = 500;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private Environment environment;
+
+  @Test
+  @DisplayName("Load: Sustain the configured arrival rate and write a latency report")
+  void openModelLoad_WritesReport() throws Exception {
+    LoadProfile profile = LoadProfile.fromSystemProperties();
+    String baseUrl = "http://localhost:" + port;
+
+    List<Long> productIds = seedProducts(profile.seedProducts());
+    List<Long> orderIds = seedOrders(profile.seedOrders(), productIds);
+
+    LoadGenerator generator = new LoadGenerator(profile, baseUrl, authorization(profile, baseUrl), productIds, orderIds);
+    Duration elapsed = generator.run();
+
+    LoadReport report = LoadReport.of(profile, describeEnvironment(productIds.size(), orderIds.size()), generator, elapsed);
+    Path file = report.write(Path.of("target", "load-test"));
+    log.warn("Load run '{}' written to {}{}", profile.label(), file, report.summary());
+
+    assertFalse(report.operations().isEmpty());
+    report.operations().values().forEach(stats -> assertTrue(stats.count() > 0));
+  }
+
+  private List<Long> seedProducts(int count) {
+    productService.importProducts(IntStream.range(0, count)
+        .mapToObj(i -> new ProductRequest(
+            "Load product " + i, BigDecimal.valueOf(1 + ThreadLocalRandom.current().nextInt(10_000), 2)))
+        .iterator());
+    return productRepository.findAll().stream().map(Product::getId).toList();
+  }
+
+  private List<Long> seedOrders(int count, List<Long> productIds) {
+    List<Long> orderIds = new ArrayList<>(count);
+    for (int offset = 0; offset < count; offset += SEED_BATCH) {
+      List<OrderRequest> batch = IntStream.range(offset, Math.min(count, offset + SEED_BATCH))
+          .mapToObj(i -> new OrderRequest(List.of(
+              productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())),
+              productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())))))
+          .toList();
+      orderService.createOrders(batch).getResults().stream()
+          .map(OrderBatchResult::getOrderId)
+          .filter(Objects::nonNull)
+          .forEach(orderIds::add);
+    }
+    return orderIds;
+  }
+
+  private String authorization(LoadProfile profile, String baseUrl) throws Exception {
+    String basic = "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+    if (!"bearer".equals(profile.auth())) {
+      return basic;
+    }
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+              .header("Authorization", basic)
+              .POST(HttpRequest.BodyPublishers.noBody())
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      return "Bearer " + JsonMapper.shared().readTree(response.body()).get("accessToken").asString();
+    }
+  }
+
+  private Map<String, Object> describeEnvironment(int products, int orders) {
+    Map<String, Object> description = new LinkedHashMap<>();
+    description.put("processors", Runtime.getRuntime().availableProcessors());
+    description.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+    description.put("javaVersion", Runtime.version().toString());
+    description.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", "false"));
+    description.put("tomcatMaxThreads", environment.getProperty("server.tomcat.threads.max", "200"));
+    description.put("hikariMaxPoolSize", environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"));
+    description.put("activeProfiles", List.of(environment.getActiveProfiles()));
+    description.put("products", products);
+    description.put("orders", orders);
+    return description;
+  }
+}
@@ -0,0 +1,174 @@
+package com.pollinate.challenge.load;
+
+import com.pollinate.challenge.load.LoadProfile.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator. Requests are started on a fixed schedule whether or not
+ * earlier ones have finished, and latency is measured from the scheduled start time, so a
+ * stalled server shows up as queueing delay instead of silently lowering the offered load
+ * (coordinated omission).
+ */
+class LoadGenerator {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final LoadProfile profile;
+  private final String baseUrl;
+  private final String authorization;
+  private final List<Long> productIds;
+  private final List<Long> orderIds;
+  private final Operation[] schedule;
+  private final HttpClient client;
+
+  private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+  private final LongAdder dropped = new LongAdder();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile boolean recording;
+
+  LoadGenerator(LoadProfile profile, String baseUrl, String authorization, List<Long> productIds, List<Long> orderIds) {
+    this.profile = profile;
+    this.baseUrl = baseUrl;
+    this.authorization = authorization;
+    this.productIds = productIds;
+    this.orderIds = orderIds;
+    this.schedule = weightedSchedule(profile.mix());
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    for (Operation operation : Operation.values()) {
+      histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  /**
+   * Runs warm-up then the recorded phase and returns the wall-clock length of the recorded phase.
+   */
+  Duration run() throws InterruptedException {
+    try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+      drive(requests, profile.warmup());
+      histograms.values().forEach(Histogram::reset);
+      errors.values().forEach(LongAdder::reset);
+      dropped.reset();
+
+      recording = true;
+      long started = System.nanoTime();
+      drive(requests, profile.duration());
+      recording = false;
+      return Duration.ofNanos(System.nanoTime() - started);
+    }
+  }
+
+  Map<Operation, Histogram> histograms() {
+    return histograms;
+  }
+
+  Map<Operation, LongAdder> errors() {
+    return errors;
+  }
+
+  long dropped() {
+    return dropped.sum();
+  }
+
+  private void drive(ExecutorService requests, Duration phase) {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+    long start = System.nanoTime();
+    long end = start + phase.toNanos();
+    long sequence = 0;
+
+    for (long intended = start; intended < end; intended = start + (++sequence) * intervalNanos) {
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      Operation operation = schedule[(int) (sequence % schedule.length)];
+      if (inFlight.incrementAndGet() > profile.maxInFlight()) {
+        inFlight.decrementAndGet();
+        dropped.increment();
+        continue;
+      }
+      long scheduledAt = intended;
+      requests.execute(() -> {
+        try {
+          execute(operation, scheduledAt);
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      });
+    }
+  }
+
+  private void execute(Operation operation, long scheduledAt) {
+    boolean ok;
+    try {
+      HttpResponse<Void> response = client.send(request(operation), HttpResponse.BodyHandlers.discarding());
+      ok = response.statusCode() < 400;
+    } catch (Exception ex) {
+      ok = false;
+    }
+    if (!recording) {
+      return;
+    }
+    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+    histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    if (!ok) {
+      errors.get(operation).increment();
+    }
+  }
+
+  private HttpRequest request(Operation operation) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    HttpRequest.Builder builder = switch (operation) {
+      case CREATE_ORDER -> {
+        int lines = 1 + random.nextInt(5);
+        StringBuilder body = new StringBuilder("{\"productIds\":[");
+        for (int i = 0; i < lines; i++) {
+          body.append(i == 0 ? "" : ",").append(productIds.get(random.nextInt(productIds.size())));
+        }
+        body.append("]}");
+        yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+      }
+      case GET_ORDER -> HttpRequest.newBuilder(
+          URI.create(baseUrl + "/api/orders/" + orderIds.get(random.nextInt(orderIds.size()))));
+      case LIST_ORDERS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders?limit=20"));
+      case GET_PRODUCT -> HttpRequest.newBuilder(
+          URI.create(baseUrl + "/api/products/" + productIds.get(random.nextInt(productIds.size()))));
+      case LIST_PRODUCTS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/products"));
+    };
+    return builder.header("Authorization", authorization).timeout(Duration.ofSeconds(30)).build();
+  }
+
+  /**
+   * Expands weights into a repeating sequence, e.g. {A=1, B=3} becomes [A, B, B, B].
+   */
+  private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+    return mix.entrySet().stream()
+        .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+        .toArray(Operation[]::new);
+  }
+}
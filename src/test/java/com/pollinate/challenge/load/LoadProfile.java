@@ -0,0 +1,55 @@
+package com.pollinate.challenge.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load scenario read from {@code -Dload.*} system properties so runs can be varied from
+ * the command line without editing code.
+ *
+ * @param label          free-form name recorded in the report, e.g. a commit or mode
+ * @param rate           target arrival rate in requests per second (open model)
+ * @param warmup         traffic sent before recording starts
+ * @param duration       recorded traffic
+ * @param maxInFlight    client-side cap on outstanding requests; arrivals beyond it are counted as dropped
+ * @param seedProducts   products imported before the run
+ * @param seedOrders     orders created before the run
+ * @param mix            relative weight per operation
+ * @param auth           "bearer" to authenticate with one token, "basic" to send credentials per request
+ */
+record LoadProfile(
+    String label,
+    int rate,
+    Duration warmup,
+    Duration duration,
+    int maxInFlight,
+    int seedProducts,
+    int seedOrders,
+    Map<Operation, Integer> mix,
+    String auth) {
+
+  enum Operation { CREATE_ORDER, GET_ORDER, LIST_ORDERS, GET_PRODUCT, LIST_PRODUCTS }
+
+  static LoadProfile fromSystemProperties() {
+    return new LoadProfile(
+        System.getProperty("load.label", "local"),
+        Integer.getInteger("load.rate", 200),
+        Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 5)),
+        Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 20)),
+        Integer.getInteger("load.maxInFlight", 1_000),
+        Integer.getInteger("load.seedProducts", 1_000),
+        Integer.getInteger("load.seedOrders", 1_000),
+        parseMix(System.getProperty("load.mix", "CREATE_ORDER=20,GET_ORDER=40,LIST_ORDERS=10,GET_PRODUCT=30")),
+        System.getProperty("load.auth", "bearer"));
+  }
+
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new LinkedHashMap<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split("=");
+      weights.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+    return weights;
+  }
+}
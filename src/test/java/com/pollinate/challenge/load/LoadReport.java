@@ -0,0 +1,71 @@
+package com.pollinate.challenge.load;
+
+import com.pollinate.challenge.load.LoadProfile.Operation;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Machine-readable summary of one load run. Latencies are in milliseconds and include
+ * client-side queueing from the intended start time.
+ */
+record LoadReport(
+    String label,
+    Instant finishedAt,
+    Map<String, Object> environment,
+    LoadProfile profile,
+    double recordedSeconds,
+    long dropped,
+    Map<Operation, OperationStats> operations) {
+
+  record OperationStats(long count, long errors, double throughput,
+                        double mean, double p50, double p90, double p99, double p999, double max) {
+
+    static OperationStats of(Histogram histogram, long errors, Duration elapsed) {
+      return new OperationStats(
+          histogram.getTotalCount(),
+          errors,
+          histogram.getTotalCount() / (elapsed.toNanos() / 1e9),
+          histogram.getMean() / 1000.0,
+          histogram.getValueAtPercentile(50) / 1000.0,
+          histogram.getValueAtPercentile(90) / 1000.0,
+          histogram.getValueAtPercentile(99) / 1000.0,
+          histogram.getValueAtPercentile(99.9) / 1000.0,
+          histogram.getMaxValue() / 1000.0);
+    }
+  }
+
+  static LoadReport of(LoadProfile profile, Map<String, Object> environment, LoadGenerator generator, Duration elapsed) {
+    Map<Operation, OperationStats> operations = new LinkedHashMap<>();
+    for (Operation operation : profile.mix().keySet()) {
+      Histogram histogram = generator.histograms().get(operation);
+      LongAdder errors = generator.errors().get(operation);
+      operations.put(operation, OperationStats.of(histogram, errors.sum(), elapsed));
+    }
+    return new LoadReport(profile.label(), Instant.now(), environment, profile,
+        elapsed.toNanos() / 1e9, generator.dropped(), operations);
+  }
+
+  Path write(Path directory) throws Exception {
+    Files.createDirectories(directory);
+    Path file = directory.resolve("%s-%d.json".formatted(label, finishedAt.toEpochMilli()));
+    JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(file.toFile(), this);
+    return file;
+  }
+
+  String summary() {
+    StringBuilder table = new StringBuilder("%n%-14s %8s %7s %9s %9s %9s %9s %9s%n".formatted(
+        "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+    operations.forEach((operation, stats) -> table.append("%-14s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n".formatted(
+        operation, stats.count(), stats.errors(), stats.throughput(), stats.p50(), stats.p99(), stats.p999(), stats.max())));
+    return table.append("dropped (client in-flight cap): ").append(dropped).toString();
+  }
+}
@@ -0,0 +1,51 @@
+package com.pollinate.challenge.security;
+
+import com.pollinate.challenge.config.TokenProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+      "admin", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+  private TokenService tokenService(String secret, Instant now) {
+    return new TokenService(new TokenProperties(secret, Duration.ofMinutes(15)), Clock.fixed(now, ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("Should verify an issued token and restore the principal and authorities")
+  void verify_RoundTrip() {
+    TokenService tokenService = tokenService("secret", NOW);
+    String token = tokenService.issue(admin).getAccessToken();
+
+    Authentication restored = tokenService.verify(token).orElseThrow();
+
+    assertEquals("admin", restored.getName());
+    assertTrue(restored.isAuthenticated());
+    assertEquals("ROLE_USER", restored.getAuthorities().iterator().next().getAuthority());
+  }
+
+  @Test
+  @DisplayName("Should reject expired, tampered and foreign tokens")
+  void verify_RejectsInvalidTokens() {
+    String token = tokenService("secret", NOW).issue(admin).getAccessToken();
+
+    assertTrue(tokenService("secret", NOW.plus(Duration.ofMinutes(16))).verify(token).isEmpty());
+    assertTrue(tokenService("other-secret", NOW).verify(token).isEmpty());
+    assertTrue(tokenService("secret", NOW).verify("x" + token).isEmpty());
+    assertTrue(tokenService("secret", NOW).verify("not-a-token").isEmpty());
+  }
+}
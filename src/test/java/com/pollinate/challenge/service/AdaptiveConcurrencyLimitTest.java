@@ -0,0 +1,83 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.service.admission.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+  private static final long FAST = 10_000_000;
+  private static final long SLOW = 100_000_000;
+
+  @Test
+  @DisplayName("Admission: Requests beyond the limit are refused until a slot is released")
+  void tryAcquire_AtLimit_Refuses() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, 0.5);
+
+    int first = limit.tryAcquire();
+    int second = limit.tryAcquire();
+    assertEquals(1, first);
+    assertEquals(2, second);
+    assertEquals(0, limit.tryAcquire());
+
+    limit.release(FAST, second);
+    assertEquals(2, limit.tryAcquire());
+  }
+
+  @Test
+  @DisplayName("Admission: The limit grows while a busy server keeps its latency")
+  void release_SteadyLatencyUnderLoad_Grows() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 20, 2.0, 0.5);
+
+    for (int i = 0; i < 500; i++) {
+      limit.release(FAST, limit.tryAcquire());
+    }
+    // Each request saw a fully used limit of 10 when it started
+    assertEquals(10, limit.limit(), "one request at a time does not use the limit, so it must not grow");
+
+    for (int i = 0; i < 500; i++) {
+      limit.tryAcquire();
+      limit.release(FAST, limit.limit());
+    }
+    assertEquals(20, limit.limit());
+  }
+
+  @Test
+  @DisplayName("Admission: The limit is cut when latency rises above tolerance, down to the minimum, and recovers")
+  void release_LatencySpike_BacksOff() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16, 4, 16, 2.0, 0.5);
+    for (int i = 0; i < 200; i++) {
+      limit.tryAcquire();
+      limit.release(FAST, 16);
+    }
+    assertEquals(16, limit.limit());
+
+    for (int i = 0; i < 40; i++) {
+      limit.tryAcquire();
+      limit.release(SLOW, 16);
+    }
+    assertTrue(limit.limit() < 16);
+
+    for (int i = 0; i < 100; i++) {
+      limit.tryAcquire();
+      limit.release(SLOW * 10, 16);
+    }
+    assertEquals(4, limit.limit());
+
+    // Once latency is back to normal the limit climbs again
+    for (int i = 0; i < 1_000; i++) {
+      limit.tryAcquire();
+      limit.release(FAST, 16);
+    }
+    assertEquals(16, limit.limit());
+    assertEquals(0, limit.inFlight());
+  }
+
+  @Test
+  @DisplayName("Admission: A minimum above the maximum is rejected")
+  void constructor_InvalidBounds_Throws() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 20, 10, 2.0, 0.5));
+  }
+}
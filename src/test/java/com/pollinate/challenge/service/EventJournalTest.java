@@ -0,0 +1,204 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.service.journal.EventJournal;
+import com.pollinate.challenge.service.journal.JournalEvent;
+import com.pollinate.challenge.service.journal.JournalEvent.OrderCreated;
+import com.pollinate.challenge.service.journal.JournalEvent.ProductCreated;
+import com.pollinate.challenge.service.journal.SnapshotFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Journal: Replay returns appended events in order after reopening")
+  void append_ThenReplay_RoundTrips() throws Exception {
+    OrderCreated order = order(7, 3);
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> fail("journal should start empty"));
+      journal.append(List.of(product(1), product(2)));
+      long seq = journal.append(List.of(order));
+      journal.awaitDurable(seq);
+      assertEquals(3, seq);
+    }
+
+    List<JournalEvent> replayed = new ArrayList<>();
+    try (EventJournal journal = open()) {
+      assertEquals(3, journal.replay(0, replayed::add));
+      assertEquals(List.of(product(1), product(2), order), replayed);
+      assertEquals(3, journal.lastSeq());
+      assertEquals(4, journal.append(List.of(product(3))));
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: Replay skips events covered by a snapshot")
+  void replay_AfterSeq_SkipsOlderEvents() throws Exception {
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> { });
+      journal.append(List.of(product(1), product(2), product(3)));
+    }
+
+    List<JournalEvent> replayed = new ArrayList<>();
+    try (EventJournal journal = open()) {
+      assertEquals(1, journal.replay(2, replayed::add));
+      assertEquals(List.of(product(3)), replayed);
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: A torn record loses the rest of its segment but later segments are still read")
+  void replay_TornRecord_ContinuesWithNextSegment() throws Exception {
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> { });
+      for (long id = 1; id <= 200; id++) {
+        journal.append(List.of(product(id)));
+      }
+    }
+    List<Path> segments = segments();
+    assertTrue(segments.size() > 2, "expected several segments");
+
+    // Corrupt the checksum of the second record in the first segment
+    try (RandomAccessFile file = new RandomAccessFile(segments.getFirst().toFile(), "rw")) {
+      int length = file.readInt();
+      long second = 4 + 8 + 1 + length + 4;
+      file.seek(second);
+      int secondLength = file.readInt();
+      file.seek(second + 4 + 8 + 1 + secondLength);
+      file.writeInt(0xdeadbeef);
+    }
+
+    List<Long> ids = new ArrayList<>();
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> ids.add(((ProductCreated) event).id()));
+      assertEquals(1L, ids.getFirst());
+      assertFalse(ids.contains(2L));
+      assertEquals(200L, ids.getLast());
+      assertEquals(200, journal.lastSeq());
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: A crash right after a roll leaves a segment that does not block later appends")
+  void replay_EmptyTrailingSegment_AppendsContinue() throws Exception {
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> { });
+      journal.append(List.of(product(1), product(2)));
+    }
+    // The roll to sequence 3 created and sized its segment, then the process died: no records,
+    // or a torn first one
+    Path rolled = directory.resolve(String.format("segment-%020d.log", 3));
+    try (RandomAccessFile file = new RandomAccessFile(rolled.toFile(), "rw")) {
+      file.setLength(SEGMENT_SIZE);
+      file.writeInt(64);
+    }
+
+    try (EventJournal journal = open()) {
+      assertEquals(2, journal.replay(0, event -> { }));
+      long seq = journal.append(List.of(product(3)));
+      journal.awaitDurable(seq);
+      assertEquals(3, seq);
+    }
+
+    List<JournalEvent> replayed = new ArrayList<>();
+    try (EventJournal journal = open()) {
+      journal.replay(0, replayed::add);
+      assertEquals(List.of(product(1), product(2), product(3)), replayed);
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: Segments covered by a snapshot are deleted, the active one is kept")
+  void deleteSegmentsThrough_KeepsActiveSegment() throws Exception {
+    try (EventJournal journal = open()) {
+      journal.replay(0, event -> { });
+      for (long id = 1; id <= 200; id++) {
+        journal.append(List.of(product(id)));
+      }
+      journal.deleteSegmentsThrough(journal.lastSeq());
+      assertEquals(1, segments().size());
+
+      List<JournalEvent> remaining = new ArrayList<>();
+      try (EventJournal reader = open()) {
+        reader.replay(0, remaining::add);
+      }
+      assertFalse(remaining.isEmpty());
+      assertEquals(product(200), remaining.getLast());
+    }
+  }
+
+  @Test
+  @DisplayName("Journal: Events larger than a segment are rejected")
+  void append_OversizedEvent_Throws() {
+    try (EventJournal journal = open()) {
+      assertThrows(IllegalArgumentException.class,
+          () -> journal.append(List.of(new ProductCreated(1, "x".repeat(SEGMENT_SIZE), 100))));
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @Test
+  @DisplayName("Snapshot: Latest snapshot round trips and replaces older ones")
+  void snapshot_WriteThenRead_RoundTrips() throws Exception {
+    assertEquals(0, SnapshotFile.readLatest(directory, event -> fail("no snapshot yet")));
+
+    SnapshotFile.write(directory, 5, writer -> writer.write(product(1)));
+    long written = SnapshotFile.write(directory, 9, writer -> {
+      writer.write(product(1));
+      writer.write(order(2, 2));
+    });
+    assertEquals(2, written);
+
+    List<JournalEvent> read = new ArrayList<>();
+    assertEquals(9, SnapshotFile.readLatest(directory, read::add));
+    assertEquals(List.of(product(1), order(2, 2)), read);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  private EventJournal open() {
+    return new EventJournal(directory, SEGMENT_SIZE, Duration.ZERO);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+    }
+  }
+
+  private static ProductCreated product(long id) {
+    return new ProductCreated(id, "Product " + id, 1025 + id * 100);
+  }
+
+  private static OrderCreated order(long id, int lineCount) {
+    List<OrderCreated.Line> lines = new ArrayList<>();
+    long total = 0;
+    for (int i = 1; i <= lineCount; i++) {
+      long unitPrice = 350L * i;
+      lines.add(new OrderCreated.Line(id * 10 + i, i, "Product " + i, unitPrice, i));
+      total += unitPrice * i;
+    }
+    return new OrderCreated(id, LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), total, "tracking-" + id,
+        List.copyOf(lines));
+  }
+}
@@ -0,0 +1,178 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.IdempotencyProperties;
+import com.pollinate.challenge.controller.dto.OrderReceipt;
+import com.pollinate.challenge.controller.dto.OrderResponse;
+import com.pollinate.challenge.domain.IdempotencyRecord;
+import com.pollinate.challenge.exception.ConflictException;
+import com.pollinate.challenge.exception.InvalidRequestException;
+import com.pollinate.challenge.exception.ResourceNotFoundException;
+import com.pollinate.challenge.repository.IdempotencyRecordRepository;
+import com.pollinate.challenge.service.idempotency.OrderIdempotencyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyStoreTest {
+
+  @Mock
+  private IdempotencyRecordRepository recordRepository;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  private OrderIdempotencyStore store(Duration ttl, int maxEntries, boolean persistent) {
+    return new OrderIdempotencyStore(
+        new IdempotencyProperties(ttl, maxEntries, Duration.ofSeconds(5), persistent, Duration.ofMinutes(10)),
+        recordRepository, jsonMapper);
+  }
+
+  private OrderResponse response(long id) {
+    return OrderResponse.builder().id(id).totalPrice(BigDecimal.TEN).lines(List.of()).build();
+  }
+
+  @Test
+  @DisplayName("Should replay the stored response for a repeated key without running the request again")
+  void execute_RepeatedKey_Replays() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+    AtomicInteger runs = new AtomicInteger();
+
+    OrderIdempotencyStore.Outcome<OrderResponse> first = store.execute("admin", "k1", List.of(1L), () -> response(runs.incrementAndGet()));
+    OrderIdempotencyStore.Outcome<OrderResponse> second = store.execute("admin", "k1", List.of(1L), () -> response(runs.incrementAndGet()));
+
+    assertFalse(first.replayed());
+    assertTrue(second.replayed());
+    assertEquals(1L, second.response().getId());
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Should run concurrent requests with the same key only once")
+  void execute_ConcurrentSameKey_RunsOnce() throws Exception {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService clients = Executors.newFixedThreadPool(4)) {
+      List<Future<OrderIdempotencyStore.Outcome<OrderResponse>>> calls = IntStream.range(0, 4)
+          .mapToObj(i -> clients.submit(() -> store.execute("admin", "k1", List.of(1L), () -> {
+            runs.incrementAndGet();
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            return response(7L);
+          })))
+          .toList();
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<OrderIdempotencyStore.Outcome<OrderResponse>> call : calls) {
+        assertEquals(7L, call.get().response().getId());
+      }
+    }
+
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Should reject a key reused for a different request and keep keys per principal")
+  void execute_DifferentRequest_Conflicts() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+    store.execute("admin", "k1", List.of(1L), () -> response(1L));
+
+    assertThrows(ConflictException.class, () -> store.execute("admin", "k1", List.of(2L), () -> response(2L)));
+    assertFalse(store.execute("other", "k1", List.of(2L), () -> response(2L)).replayed());
+  }
+
+  @Test
+  @DisplayName("Should replay async intake receipts, but not across intake modes")
+  void execute_Receipt_ReplaysWithinMode() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+    OrderReceipt receipt = OrderReceipt.builder().trackingId("t-1").status(OrderReceipt.Status.QUEUED).build();
+    store.execute("admin", "k1", List.of(1L), OrderReceipt.class, () -> receipt);
+
+    OrderIdempotencyStore.Outcome<OrderReceipt> retry = store.execute("admin", "k1", List.of(1L), OrderReceipt.class,
+        () -> OrderReceipt.builder().trackingId("t-2").build());
+    assertTrue(retry.replayed());
+    assertEquals("t-1", retry.response().getTrackingId());
+    assertThrows(ConflictException.class, () -> store.execute("admin", "k1", List.of(1L), () -> response(1L)));
+  }
+
+  @Test
+  @DisplayName("Should forget a failed request so it can be retried")
+  void execute_Failure_IsNotCached() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+
+    assertThrows(ResourceNotFoundException.class, () -> store.execute("admin", "k1", List.of(1L), () -> {
+      throw new ResourceNotFoundException("missing");
+    }));
+
+    assertFalse(store.execute("admin", "k1", List.of(1L), () -> response(1L)).replayed());
+  }
+
+  @Test
+  @DisplayName("Should evict the oldest keys beyond the size bound and expired keys")
+  void execute_EvictsOldestAndExpired() {
+    OrderIdempotencyStore bounded = store(Duration.ofHours(1), 2, false);
+    for (int i = 0; i < 5; i++) {
+      long id = i;
+      bounded.execute("admin", "k" + i, List.of(1L), () -> response(id));
+    }
+    assertTrue(bounded.size() <= 3);
+
+    OrderIdempotencyStore expiring = store(Duration.ZERO, 10, false);
+    expiring.execute("admin", "k1", List.of(1L), () -> response(1L));
+    assertFalse(expiring.execute("admin", "k1", List.of(1L), () -> response(2L)).replayed());
+  }
+
+  @Test
+  @DisplayName("Should persist responses and replay them from the table after a restart")
+  void execute_Persistent_ReplaysFromTable() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, true);
+    when(recordRepository.findById("admin:k1")).thenReturn(Optional.empty());
+    store.execute("admin", "k1", List.of(1L), () -> response(5L));
+
+    ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+    verify(recordRepository).save(saved.capture());
+
+    OrderIdempotencyStore restarted = store(Duration.ofHours(1), 10, true);
+    when(recordRepository.findById("admin:k1")).thenReturn(Optional.of(saved.getValue()));
+    OrderIdempotencyStore.Outcome<OrderResponse> outcome = restarted.execute("admin", "k1", List.of(1L), () -> response(6L));
+
+    assertTrue(outcome.replayed());
+    assertEquals(5L, outcome.response().getId());
+    verify(recordRepository, times(1)).save(any());
+  }
+
+  @Test
+  @DisplayName("Should reject keys that are blank or too long")
+  void execute_InvalidKey() {
+    OrderIdempotencyStore store = store(Duration.ofHours(1), 10, false);
+    assertThrows(InvalidRequestException.class,
+        () -> store.execute("admin", " ", List.of(1L), () -> response(1L)));
+    assertThrows(InvalidRequestException.class,
+        () -> store.execute("admin", "x".repeat(256), List.of(1L), () -> response(1L)));
+    verifyNoInteractions(recordRepository);
+  }
+}
@@ -0,0 +1,183 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.OrderIntakeProperties;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+import com.pollinate.challenge.exception.ServiceUnavailableException;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.service.intake.AcceptedOrder;
+import com.pollinate.challenge.service.intake.IntakeJournal;
+import com.pollinate.challenge.service.intake.OrderIntake;
+import com.pollinate.challenge.service.report.SalesRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeTest {
+
+  @Mock private OrderRepository orderRepository;
+  @Mock private SalesRollup salesRollup;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir
+  private Path dir;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+  private OrderIntake intake;
+
+  private OrderIntake intake(int capacity) {
+    OrderIntakeProperties properties = new OrderIntakeProperties(
+        true, capacity, 10, dir.resolve("intake.journal"), false, Duration.ofMillis(10), Duration.ofSeconds(5));
+    intake = new OrderIntake(properties, orderRepository, salesRollup, transactionManager, jsonMapper,
+        new SimpleMeterRegistry());
+    return intake;
+  }
+
+  private static Order pricedOrder() {
+    Order order = Order.builder().totalPriceMinor(1000).build();
+    order.addLine(OrderLine.builder()
+        .productId(1L).productName("Item A").unitPriceMinor(500).quantity(2).build());
+    return order;
+  }
+
+  private static AcceptedOrder accepted(String trackingId) {
+    return new AcceptedOrder(trackingId, LocalDateTime.of(2026, 1, 1, 12, 0), 1000,
+        List.of(new AcceptedOrder.Line(1L, "Item A", 1000, 1)));
+  }
+
+  private static List<String> trackingIds(Iterable<Order> orders) {
+    return StreamSupport.stream(orders.spliterator(), false).map(Order::getTrackingId).toList();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (intake != null) {
+      intake.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should refuse orders until the writer has started")
+  void submit_BeforeStart_Throws() {
+    OrderIntake intake = intake(10);
+
+    assertThrows(ServiceUnavailableException.class, () -> intake.submit(pricedOrder()));
+  }
+
+  @Test
+  @DisplayName("Should persist accepted orders in the background and empty the journal")
+  void submit_PersistsInBackground() throws Exception {
+    when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    OrderIntake intake = intake(10);
+    intake.start();
+
+    AcceptedOrder accepted = intake.submit(pricedOrder());
+
+    assertEquals(1000, accepted.totalPriceMinor());
+    verify(orderRepository, timeout(2000)).saveAll(argThat(orders -> trackingIds(orders).contains(accepted.trackingId())));
+    verify(salesRollup, timeout(2000)).recordAfterCommit(any());
+    Thread.sleep(50);
+    assertEquals(0, intake.queued());
+    assertNull(intake.pending(accepted.trackingId()));
+    assertEquals(0, Files.size(dir.resolve("intake.journal")));
+  }
+
+  @Test
+  @DisplayName("Should answer 503 once the queue is at capacity")
+  void submit_QueueFull_Throws() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+      release.await();
+      return invocation.getArgument(0);
+    });
+    OrderIntake intake = intake(1);
+    intake.start();
+
+    intake.submit(pricedOrder());
+    try {
+      assertThrows(ServiceUnavailableException.class, () -> intake.submit(pricedOrder()));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should replay only journaled orders that never reached the database")
+  void start_ReplaysOutstandingOrders() throws Exception {
+    Path path = dir.resolve("intake.journal");
+    try (IntakeJournal journal = new IntakeJournal(path, false, jsonMapper)) {
+      journal.open();
+      journal.append(accepted("persisted"));
+      journal.append(accepted("lost"));
+      journal.append(accepted("saved-without-marker"));
+      journal.markPersisted(List.of("persisted"));
+    }
+    // A crash in the middle of an append leaves a partial last line
+    Files.writeString(path, "{\"accepted\":{\"trackingId\":\"torn", StandardOpenOption.APPEND);
+
+    when(orderRepository.findTrackingIdsIn(anyCollection())).thenReturn(List.of("saved-without-marker"));
+    when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    OrderIntake intake = intake(10);
+    intake.start();
+
+    verify(orderRepository, timeout(2000)).saveAll(argThat(orders -> trackingIds(orders).equals(List.of("lost"))));
+    verify(orderRepository, times(1)).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Should keep every concurrently appended order when appends share fsyncs")
+  void append_Concurrent_SharesForces() throws Exception {
+    Path path = dir.resolve("intake.journal");
+    int threads = 8;
+    int perThread = 50;
+    try (IntakeJournal journal = new IntakeJournal(path, true, jsonMapper)) {
+      journal.open();
+      CountDownLatch start = new CountDownLatch(1);
+      List<Thread> appenders = IntStream.range(0, threads)
+          .mapToObj(t -> Thread.ofPlatform().start(() -> {
+            try {
+              start.await();
+              for (int i = 0; i < perThread; i++) {
+                journal.append(accepted(t + "-" + i));
+              }
+            } catch (Exception e) {
+              throw new IllegalStateException(e);
+            }
+          }))
+          .toList();
+      start.countDown();
+      for (Thread appender : appenders) {
+        appender.join();
+      }
+      assertTrue(journal.forces() >= 1 && journal.forces() <= threads * perThread, "forces " + journal.forces());
+    }
+
+    try (IntakeJournal journal = new IntakeJournal(path, true, jsonMapper)) {
+      assertEquals(threads * perThread, journal.open().size());
+    }
+  }
+}
@@ -1,27 +1,44 @@
 package com.pollinate.challenge.service;
 
+import com.pollinate.challenge.config.OrderLinesProperties;
+import com.pollinate.challenge.controller.dto.OrderBatchResponse;
+import com.pollinate.challenge.controller.dto.OrderBatchResult;
+import com.pollinate.challenge.controller.dto.OrderLineResponse;
+import com.pollinate.challenge.controller.dto.OrderPageResponse;
 import com.pollinate.challenge.controller.dto.OrderRequest;
 import com.pollinate.challenge.controller.dto.OrderResponse;
 import com.pollinate.challenge.domain.Order;
 import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.exception.ResourceNotFoundException;
 import com.pollinate.challenge.repository.OrderRepository;
 import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
 import com.pollinate.challenge.service.impl.OrderServiceImpl;
+import com.pollinate.challenge.service.metrics.OrderMetrics;
+import com.pollinate.challenge.service.report.SalesRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,25 +46,27 @@ class OrderServiceTest {
 
   @Mock private OrderRepository orderRepository;
   @Mock private ProductRepository productRepository;
+  @Mock private ProductCatalog productCatalog;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  @Spy private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+  @Mock private SalesRollup salesRollup;
+  @Spy private OrderLinesProperties linesProperties = new OrderLinesProperties(1000, 1000);
   @InjectMocks private OrderServiceImpl orderService;
 
   @Test
   @DisplayName("Should successfully create order and calculate correct total")
   void createOrder_Success() {
     // Arrange
-    Product p1 = Product.builder().id(1L).name("Item A").price(new BigDecimal("10.50")).build();
-    Product p2 = Product.builder().id(2L).name("Item B").price(new BigDecimal("20.00")).build();
+    Product p1 = Product.builder().id(1L).name("Item A").priceMinor(1050).build();
+    Product p2 = Product.builder().id(2L).name("Item B").priceMinor(2000).build();
     OrderRequest request = new OrderRequest(List.of(1L, 2L));
 
-    Order savedOrder = Order.builder()
-        .id(100L)
-        .products(List.of(p1, p2))
-        .totalPrice(new BigDecimal("30.50"))
-        .createdAt(LocalDateTime.now())
-        .build();
-
     when(productRepository.findAllById(any())).thenReturn(List.of(p1, p2));
-    when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+    when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+      Order order = invocation.getArgument(0);
+      order.setId(100L);
+      return order;
+    });
 
     // Act
     OrderResponse response = orderService.createOrder(request);
@@ -56,8 +75,54 @@ class OrderServiceTest {
     assertNotNull(response);
     assertEquals(100L, response.getId());
     assertEquals(new BigDecimal("30.50"), response.getTotalPrice());
-    assertEquals(2, response.getProducts().size());
+    assertEquals(2, response.getLines().size());
+    assertEquals("Item A", response.getLines().get(0).getName());
     verify(orderRepository).save(any(Order.class));
+    assertEquals(2, meterRegistry.get("order.products").summary().totalAmount());
+    assertEquals(30.5, meterRegistry.get("order.total").summary().totalAmount());
+    assertEquals(1, meterRegistry.get(OrderMetrics.PHASE_METRIC).tag("phase", "persist").timer().count());
+  }
+
+  @Test
+  @DisplayName("Should price an order from the catalog snapshot without loading products")
+  void createOrder_CatalogHit_SkipsProductQuery() {
+    OrderRequest request = new OrderRequest(List.of(1L, 2L));
+    when(productCatalog.get(1L)).thenReturn(new CatalogEntry(1L, "Item A", 1050, 0L));
+    when(productCatalog.get(2L)).thenReturn(new CatalogEntry(2L, "Item B", 2000, 0L));
+    when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    OrderResponse response = orderService.createOrder(request);
+
+    assertEquals(new BigDecimal("30.50"), response.getTotalPrice());
+    assertEquals(2, response.getLines().size());
+    verify(productRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("Should turn repeated product IDs into one line with a quantity")
+  void createOrder_DuplicateIds_BecomeQuantity() {
+    when(productCatalog.get(1L)).thenReturn(new CatalogEntry(1L, "Item A", 1050, 0L));
+    when(productCatalog.get(2L)).thenReturn(new CatalogEntry(2L, "Item B", 2000, 0L));
+    when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    OrderResponse response = orderService.createOrder(new OrderRequest(List.of(2L, 1L, 2L, 2L)));
+
+    assertEquals(new BigDecimal("70.50"), response.getTotalPrice());
+    assertEquals(2, response.getLines().size());
+    assertEquals(2L, response.getLines().get(0).getProductId());
+    assertEquals(3, response.getLines().get(0).getQuantity());
+    assertEquals(new BigDecimal("60.00"), response.getLines().get(0).getLineTotal());
+    assertEquals(1, response.getLines().get(1).getQuantity());
+  }
+
+  @Test
+  @DisplayName("Should reject an order whose total overflows instead of wrapping")
+  void createOrder_TotalOverflow_ThrowsException() {
+    when(productCatalog.get(1L)).thenReturn(new CatalogEntry(1L, "Item A", Long.MAX_VALUE / 2, 0L));
+
+    assertThrows(InvalidRequestException.class,
+        () -> orderService.createOrder(new OrderRequest(List.of(1L, 1L, 1L))));
+    verify(orderRepository, never()).save(any(Order.class));
   }
 
   @Test
@@ -65,7 +130,7 @@ class OrderServiceTest {
   void createOrder_PartialProductsNotFound() {
     // Arrange: Request 2 items, but DB only finds 1
     OrderRequest request = new OrderRequest(List.of(1L, 99L));
-    Product p1 = Product.builder().id(1L).price(BigDecimal.TEN).build();
+    Product p1 = Product.builder().id(1L).priceMinor(1000).build();
 
     when(productRepository.findAllById(any())).thenReturn(List.of(p1));
 
@@ -77,11 +142,83 @@ class OrderServiceTest {
     verify(orderRepository, never()).save(any());
   }
 
+  @Test
+  @DisplayName("Should load uncached products in bounded IN lists, keeping lines in request order")
+  void createOrder_UncachedProducts_LoadedInChunks() {
+    when(linesProperties.lookupChunkSize()).thenReturn(2);
+    when(productRepository.findAllById(any())).thenAnswer(invocation -> {
+      Iterable<Long> ids = invocation.getArgument(0);
+      List<Product> products = new ArrayList<>();
+      ids.forEach(id -> products.add(Product.builder().id(id).name("Item " + id).priceMinor(100 * id).build()));
+      return products;
+    });
+    when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    OrderResponse response = orderService.createOrder(new OrderRequest(List.of(3L, 1L, 2L, 3L)));
+
+    verify(productRepository).findAllById(List.of(1L, 2L));
+    verify(productRepository).findAllById(List.of(3L));
+    assertEquals(List.of(3L, 1L, 2L), response.getLines().stream().map(OrderLineResponse::getProductId).toList());
+    assertEquals(2, response.getLines().get(0).getQuantity());
+    assertEquals(new BigDecimal("9.00"), response.getTotalPrice());
+  }
+
+  @Test
+  @DisplayName("Should report missing product IDs sorted, listing at most 20 of them")
+  void createOrder_ManyProductsNotFound_MessageIsBounded() {
+    List<Long> ids = LongStream.rangeClosed(1, 25).map(id -> 26 - id).boxed().toList();
+
+    ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+        () -> orderService.createOrder(new OrderRequest(ids)));
+
+    assertTrue(ex.getMessage().endsWith(
+        "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20] and 5 more"));
+  }
+
+  @Test
+  @DisplayName("Should reject orders and batches listing more product IDs than allowed")
+  void createOrder_TooManyProductIds_ThrowsException() {
+    List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+    assertThrows(InvalidRequestException.class, () -> orderService.createOrder(new OrderRequest(ids)));
+    assertThrows(InvalidRequestException.class, () -> orderService.createOrders(List.of(
+        new OrderRequest(ids.subList(0, 600)), new OrderRequest(ids.subList(600, 1001)))));
+    verify(productRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("Should resolve products once for a batch and reject only the invalid orders")
+  void createOrders_MixedBatch() {
+    Product p1 = Product.builder().id(1L).name("Item A").priceMinor(1050).build();
+    Product p2 = Product.builder().id(2L).name("Item B").priceMinor(2000).build();
+    when(productRepository.findAllById(any())).thenReturn(List.of(p1, p2));
+    when(orderRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    OrderBatchResponse response = orderService.createOrders(List.of(
+        new OrderRequest(List.of(1L, 2L)),
+        new OrderRequest(List.of(1L, 99L)),
+        new OrderRequest(List.of(2L))));
+
+    assertEquals(2, response.getCreated());
+    assertEquals(1, response.getRejected());
+    assertEquals(new BigDecimal("30.50"), response.getResults().get(0).getTotalPrice());
+    assertEquals(OrderBatchResult.Status.REJECTED, response.getResults().get(1).getStatus());
+    assertTrue(response.getResults().get(1).getError().contains("99"));
+    assertEquals(new BigDecimal("20.00"), response.getResults().get(2).getTotalPrice());
+    verify(productRepository, times(1)).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("Should reject an empty batch")
+  void createOrders_EmptyBatch() {
+    assertThrows(InvalidRequestException.class, () -> orderService.createOrders(List.of()));
+  }
+
   @Test
   @DisplayName("Should find order by ID and map correctly")
   void getOrderById_Success() {
-    Order order = Order.builder().id(1L).totalPrice(BigDecimal.TEN).products(List.of()).build();
-    when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+    Order order = Order.builder().id(1L).totalPriceMinor(1000).build();
+    when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
 
     OrderResponse response = orderService.getOrderById(1L);
 
@@ -92,7 +229,49 @@ class OrderServiceTest {
   @Test
   @DisplayName("Should throw exception when finding non-existent order")
   void getOrderById_NotFound() {
-    when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+    when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.empty());
     assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(1L));
   }
+
+  @Test
+  @DisplayName("Should return a page with a cursor when more orders exist than the limit")
+  void getAllOrders_ReturnsNextCursor() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Order> rows = List.of(
+        Order.builder().id(3L).totalPriceMinor(100).createdAt(now).build(),
+        Order.builder().id(2L).totalPriceMinor(100).createdAt(now.minusSeconds(1)).build(),
+        Order.builder().id(1L).totalPriceMinor(100).createdAt(now.minusSeconds(2)).build());
+    when(orderRepository.findFirstPage(isNull(), isNull(), eq(Limit.of(3)))).thenReturn(rows);
+
+    OrderPageResponse page = orderService.getAllOrders(2, null, null, null);
+
+    assertEquals(2, page.getOrders().size());
+    assertEquals(3L, page.getOrders().get(0).getId());
+    assertNotNull(page.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("Should resume after the cursor position and end paging on the last page")
+  void getAllOrders_FollowsCursor() {
+    LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+    Order last = Order.builder().id(2L).totalPriceMinor(100).createdAt(createdAt).build();
+    when(orderRepository.findFirstPage(isNull(), isNull(), any(Limit.class))).thenReturn(List.of(last, last));
+    String cursor = orderService.getAllOrders(1, null, null, null).getNextCursor();
+
+    when(orderRepository.findPageBefore(eq(createdAt), eq(2L), isNull(), isNull(), any(Limit.class)))
+        .thenReturn(List.of(Order.builder().id(1L).totalPriceMinor(100).build()));
+
+    OrderPageResponse page = orderService.getAllOrders(1, cursor, null, null);
+
+    assertEquals(1L, page.getOrders().get(0).getId());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("Should reject malformed cursors and out-of-range limits")
+  void getAllOrders_InvalidArguments() {
+    assertThrows(InvalidRequestException.class, () -> orderService.getAllOrders(10, "not-a-cursor", null, null));
+    assertThrows(InvalidRequestException.class, () -> orderService.getAllOrders(0, null, null, null));
+    verifyNoInteractions(orderRepository);
+  }
 }
@@ -0,0 +1,105 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.CatalogProperties;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+  @Mock
+  private ProductRepository productRepository;
+
+  private ProductCatalog catalog(boolean enabled, int maxSize) {
+    return new ProductCatalog(new CatalogProperties(enabled, maxSize), productRepository, new SimpleMeterRegistry());
+  }
+
+  private Product product(long id) {
+    return Product.builder().id(id).name("P" + id).priceMinor(id * 100).build();
+  }
+
+  private double copies(SimpleMeterRegistry meterRegistry) {
+    return meterRegistry.get("catalog.cache.copies").functionCounter().count();
+  }
+
+  @Test
+  @DisplayName("Should serve admitted products and count hits and misses")
+  void get_CountsHitsAndMisses() {
+    ProductCatalog catalog = catalog(true, 10);
+    catalog.admitLoaded(List.of(product(1L)));
+
+    assertEquals("P1", catalog.get(1L).name());
+    assertNull(catalog.get(2L));
+    assertEquals(1, catalog.hitCount());
+    assertEquals(1, catalog.missCount());
+  }
+
+  @Test
+  @DisplayName("Should stop admitting new products once the size bound is reached")
+  void admit_RespectsMaxSize() {
+    ProductCatalog catalog = catalog(true, 2);
+    catalog.admitLoaded(List.of(product(1L), product(2L), product(3L)));
+
+    assertEquals(2, catalog.size());
+  }
+
+  @Test
+  @DisplayName("Should keep the snapshot without copying it when a full catalog misses or nothing changed")
+  void admit_NothingToChange_KeepsSnapshot() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ProductCatalog catalog = new ProductCatalog(new CatalogProperties(true, 2), productRepository, meterRegistry);
+    catalog.admitLoaded(List.of(product(1L), product(2L)));
+    assertEquals(1, copies(meterRegistry));
+
+    catalog.admitLoaded(List.of(product(3L)));
+    catalog.admitLoaded(List.of(product(1L), product(2L)));
+    assertEquals(1, copies(meterRegistry));
+    assertNull(catalog.get(3L));
+
+    Product renamed = product(2L);
+    renamed.setName("Renamed");
+    catalog.admitLoaded(List.of(product(3L), renamed));
+    assertEquals(2, copies(meterRegistry));
+    assertEquals("Renamed", catalog.get(2L).name());
+  }
+
+  @Test
+  @DisplayName("Should publish products only after the surrounding transaction commits")
+  void publishAfterCommit_DefersUntilCommit() {
+    ProductCatalog catalog = catalog(true, 10);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      catalog.publishAfterCommit(List.of(product(1L)));
+      assertEquals(0, catalog.size());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      assertEquals(1, catalog.size());
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("Should bypass the snapshot entirely when disabled")
+  void disabled_AlwaysMisses() {
+    ProductCatalog catalog = catalog(false, 10);
+    catalog.admitLoaded(List.of(product(1L)));
+
+    assertNull(catalog.get(1L));
+    assertEquals(0, catalog.size());
+    assertEquals(0, catalog.missCount());
+  }
+}
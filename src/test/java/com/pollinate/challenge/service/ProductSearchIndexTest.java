@@ -0,0 +1,184 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.ProductSearchProperties;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.repository.ProductSummary;
+import com.pollinate.challenge.service.catalog.CatalogEntry;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import com.pollinate.challenge.service.search.ProductSearchQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+  @Mock
+  private ProductRepository productRepository;
+
+  private ProductSearchIndex index(int maxProducts) {
+    return new ProductSearchIndex(new ProductSearchProperties(true, maxProducts, 20, 100, 10000),
+        productRepository, new SimpleMeterRegistry());
+  }
+
+  private ProductSearchIndex readyIndex(Product... products) {
+    when(productRepository.findSummariesAfter(anyLong(), any())).thenReturn(List.of());
+    ProductSearchIndex index = index(100);
+    index.warmUp();
+    index.indexAfterCommit(List.of(products));
+    return index;
+  }
+
+  private Product product(long id, String name, String price) {
+    return Product.builder().id(id).name(name).priceMinor(Money.toMinorUnits(new BigDecimal(price))).build();
+  }
+
+  private ProductSearchQuery query(String name, String min, String max, ProductSearchQuery.SortField sort,
+                                   boolean descending, int page, int size) {
+    return new ProductSearchQuery(ProductSearchQuery.tokenize(name),
+        min == null ? null : Money.toMinorUnits(new BigDecimal(min)),
+        max == null ? null : Money.toMinorUnits(new BigDecimal(max)),
+        sort, descending, page, size);
+  }
+
+  private List<Long> ids(ProductSearchIndex.Result result) {
+    return result.products().stream().map(CatalogEntry::id).toList();
+  }
+
+  @Test
+  @DisplayName("Should split names into lower-case words of letters and digits")
+  void tokenize_SplitsOnNonWordCharacters() {
+    assertEquals(List.of("wi", "fi", "router", "5g"), ProductSearchQuery.tokenize("Wi-Fi  Router (5G), router"));
+    assertEquals(List.of(), ProductSearchQuery.tokenize(null));
+  }
+
+  @Test
+  @DisplayName("Should defer to the database until the index is built")
+  void search_NotReady_ReturnsNull() {
+    ProductSearchIndex index = index(100);
+    index.indexAfterCommit(List.of(product(1L, "Laptop", "10.00")));
+
+    assertFalse(index.isReady());
+    assertNull(index.search(query("laptop", null, null, ProductSearchQuery.SortField.ID, false, 0, 10)));
+  }
+
+  @Test
+  @DisplayName("Should require every query token to prefix a word of the name")
+  void search_MatchesAllTokenPrefixes() {
+    ProductSearchIndex index = readyIndex(
+        product(1L, "Gaming Laptop Pro", "1500.00"),
+        product(2L, "Laptop Sleeve", "25.00"),
+        product(3L, "Pro Gaming Mouse", "60.00"),
+        product(4L, "Desk Lamp", "30.00"));
+
+    assertEquals(List.of(1L, 2L), ids(index.search(query("lap", null, null, ProductSearchQuery.SortField.ID, false, 0, 10))));
+    assertEquals(List.of(1L, 3L), ids(index.search(query("pro GAM", null, null, ProductSearchQuery.SortField.ID, false, 0, 10))));
+    assertEquals(List.of(), ids(index.search(query("aptop", null, null, ProductSearchQuery.SortField.ID, false, 0, 10))));
+    assertEquals(List.of(3L), ids(index.search(query("gaming", "50", "100", ProductSearchQuery.SortField.ID, false, 0, 10))));
+  }
+
+  @Test
+  @DisplayName("Should page price ranges in price order with ties broken by ID")
+  void search_PriceRangeOrderedByPrice() {
+    ProductSearchIndex index = readyIndex(
+        product(1L, "A", "30.00"),
+        product(2L, "B", "10.00"),
+        product(3L, "C", "20.00"),
+        product(4L, "D", "20.00"),
+        product(5L, "E", "50.00"));
+
+    ProductSearchIndex.Result ascending = index.search(query(null, "15", "40", ProductSearchQuery.SortField.PRICE, false, 0, 2));
+    assertEquals(List.of(3L, 4L), ids(ascending));
+    assertEquals(3, ascending.total());
+
+    ProductSearchIndex.Result descending = index.search(query(null, null, null, ProductSearchQuery.SortField.PRICE, true, 1, 2));
+    assertEquals(List.of(4L, 3L), ids(descending));
+    assertEquals(5, descending.total());
+  }
+
+  @Test
+  @DisplayName("Should order by name or ID, with and without a price filter")
+  void search_OrdersByNameAndId() {
+    ProductSearchIndex index = readyIndex(
+        product(1L, "Cherry", "5.00"),
+        product(2L, "apple", "5.00"),
+        product(3L, "Banana", "7.00"),
+        product(4L, "Banana", "9.00"));
+
+    // Binary order, as the database sorts the column: lower case after upper case
+    assertEquals(List.of(2L, 1L, 4L, 3L),
+        ids(index.search(query(null, null, null, ProductSearchQuery.SortField.NAME, true, 0, 10))));
+    assertEquals(List.of(3L, 4L),
+        ids(index.search(query(null, "6", null, ProductSearchQuery.SortField.NAME, false, 0, 10))));
+    ProductSearchIndex.Result byId = index.search(query(null, null, null, ProductSearchQuery.SortField.ID, true, 1, 3));
+    assertEquals(List.of(1L), ids(byId));
+    assertEquals(4, byId.total());
+    assertEquals(List.of(), ids(index.search(query("banana", null, null, ProductSearchQuery.SortField.ID, false, 1, 2))));
+  }
+
+  @Test
+  @DisplayName("Should page broad name matches in the same order as a full sort")
+  void search_BroadMatchesWalkOrderedMaps() {
+    ProductSearchIndex index = readyIndex(
+        product(1L, "Lamp Tall", "40.00"),
+        product(2L, "Lamp Short", "10.00"),
+        product(3L, "Lamp Arc", "30.00"),
+        product(4L, "Lamp Desk", "30.00"),
+        product(5L, "Lamp Floor", "50.00"),
+        product(6L, "Shade", "20.00"));
+
+    for (ProductSearchQuery.SortField sort : ProductSearchQuery.SortField.values()) {
+      // A full page sorts the five matches; two-item pages are read off the ordered maps
+      List<Long> sorted = ids(index.search(query("lamp", null, null, sort, true, 0, 10)));
+      ProductSearchIndex.Result second = index.search(query("lamp", null, null, sort, true, 1, 2));
+      assertEquals(sorted.subList(2, 4), ids(second), sort.name());
+      assertEquals(5, second.total());
+    }
+    assertEquals(List.of(5L, 1L, 4L, 3L, 2L),
+        ids(index.search(query("lamp", null, null, ProductSearchQuery.SortField.PRICE, true, 0, 10))));
+  }
+
+  @Test
+  @DisplayName("Should skip products already indexed during warm-up")
+  void warmUp_SkipsProductsIndexedAfterCommit() {
+    ProductSearchIndex index = index(100);
+    index.indexAfterCommit(List.of(product(2L, "Kettle", "20.00")));
+    when(productRepository.findSummariesAfter(anyLong(), any())).thenReturn(List.of(
+        new ProductSummary(1L, "Toaster", 1500, 0L),
+        new ProductSummary(2L, "Kettle", 2000, 0L)));
+
+    index.warmUp();
+
+    assertEquals(2, index.size());
+    assertEquals(List.of(1L, 2L), ids(index.search(query(null, null, null, ProductSearchQuery.SortField.PRICE, false, 0, 10))));
+  }
+
+  @Test
+  @DisplayName("Should drop the index and defer to the database once the catalog outgrows it")
+  void add_BeyondCapacity_DropsIndex() {
+    when(productRepository.findSummariesAfter(anyLong(), any())).thenReturn(List.of());
+    ProductSearchIndex index = index(2);
+    index.warmUp();
+    index.indexAfterCommit(List.of(product(1L, "A", "1.00"), product(2L, "B", "2.00")));
+    assertTrue(index.isReady());
+
+    index.indexAfterCommit(List.of(product(3L, "C", "3.00")));
+
+    assertFalse(index.isReady());
+    assertEquals(0, index.size());
+    assertNull(index.search(query(null, null, null, ProductSearchQuery.SortField.ID, false, 0, 10)));
+  }
+}
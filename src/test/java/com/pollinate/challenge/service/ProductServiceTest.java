@@ -1,17 +1,35 @@
 package com.pollinate.challenge.service;
 
+import com.pollinate.challenge.config.BulkImportProperties;
+import com.pollinate.challenge.config.ProductSearchProperties;
+import com.pollinate.challenge.controller.dto.BulkImportResponse;
+import com.pollinate.challenge.controller.dto.ImportBatchResult;
 import com.pollinate.challenge.controller.dto.ProductRequest;
 import com.pollinate.challenge.controller.dto.ProductResponse;
+import com.pollinate.challenge.controller.dto.ProductSearchResponse;
 import com.pollinate.challenge.domain.Product;
+import com.pollinate.challenge.exception.InvalidRequestException;
 import com.pollinate.challenge.exception.ResourceNotFoundException;
 import com.pollinate.challenge.repository.ProductRepository;
+import com.pollinate.challenge.service.catalog.ProductCatalog;
 import com.pollinate.challenge.service.impl.ProductServiceImpl;
+import com.pollinate.challenge.service.search.ProductSearchIndex;
+import com.pollinate.challenge.service.search.ProductSearchQuery;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -27,6 +45,21 @@ class ProductServiceTest {
   @Mock
   private ProductRepository productRepository;
 
+  @Mock
+  private ProductCatalog productCatalog;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Spy
+  private BulkImportProperties importProperties = new BulkImportProperties(2);
+
+  @Mock
+  private ProductSearchIndex searchIndex;
+
+  @Spy
+  private ProductSearchProperties searchProperties = new ProductSearchProperties(true, 1000, 20, 100, 10000);
+
   @InjectMocks
   private ProductServiceImpl productService;
 
@@ -35,7 +68,7 @@ class ProductServiceTest {
   void createProduct_Success() {
     // Arrange
     ProductRequest request = new ProductRequest("Laptop", new BigDecimal("999.99"));
-    Product savedProduct = Product.builder().id(1L).name("Laptop").price(new BigDecimal("999.99")).build();
+    Product savedProduct = Product.builder().id(1L).name("Laptop").priceMinor(99999).build();
 
     // Mock the repository save behavior
     when(productRepository.save(any(Product.class))).thenReturn(savedProduct);
@@ -48,13 +81,24 @@ class ProductServiceTest {
     assertEquals(1L, response.getId());
     assertEquals("Laptop", response.getName());
     verify(productRepository, times(1)).save(any(Product.class));
+    verify(productCatalog).publishAfterCommit(List.of(savedProduct));
+  }
+
+  @Test
+  @DisplayName("Should reject a price finer than the currency scale or missing")
+  void createProduct_InvalidPrice_ThrowsException() {
+    assertThrows(InvalidRequestException.class,
+        () -> productService.createProduct(new ProductRequest("Laptop", new BigDecimal("9.999"))));
+    assertThrows(InvalidRequestException.class,
+        () -> productService.createProduct(new ProductRequest("Laptop", null)));
+    verify(productRepository, never()).save(any(Product.class));
   }
 
   @Test
   @DisplayName("Should find product by ID and map correctly to Response DTO")
   void getProductById_Success() {
     // Arrange
-    Product foundProduct = Product.builder().id(2L).name("Mouse").price(BigDecimal.TEN).build();
+    Product foundProduct = Product.builder().id(2L).name("Mouse").priceMinor(1000).build();
 
     // Mock the repository findById behavior
     when(productRepository.findById(2L)).thenReturn(Optional.of(foundProduct));
@@ -83,8 +127,8 @@ class ProductServiceTest {
   void getAllProducts_Success() {
     // Arrange
     List<Product> productList = List.of(
-        Product.builder().id(1L).name("A").price(BigDecimal.ONE).build(),
-        Product.builder().id(2L).name("B").price(BigDecimal.TEN).build()
+        Product.builder().id(1L).name("A").priceMinor(100).build(),
+        Product.builder().id(2L).name("B").priceMinor(1000).build()
     );
 
     when(productRepository.findAll()).thenReturn(productList);
@@ -98,4 +142,80 @@ class ProductServiceTest {
     assertEquals("A", responses.get(0).getName());
     verify(productRepository, times(1)).findAll();
   }
+
+  @Test
+  @DisplayName("Should import a stream in fixed-size batches and report each batch")
+  void importProducts_BatchesStream() {
+    // Run the transaction callback inline
+    when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    when(productRepository.saveAll(any())).thenAnswer(invocation -> {
+      List<Product> products = invocation.getArgument(0);
+      long id = 1;
+      for (Product product : products) {
+        product.setId(id++);
+      }
+      return products;
+    });
+    List<ProductRequest> requests = List.of(
+        new ProductRequest("A", BigDecimal.ONE),
+        new ProductRequest("B", BigDecimal.TWO),
+        new ProductRequest("C", BigDecimal.TEN));
+
+    BulkImportResponse response = productService.importProducts(requests.iterator());
+
+    assertEquals(3, response.getImported());
+    assertEquals(2, response.getBatches().size());
+    assertEquals(2, response.getBatches().get(0).getSize());
+    assertEquals(1, response.getBatches().get(1).getSize());
+    verify(productRepository, times(2)).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Should fail only the batch that contains an invalid product")
+  void importProducts_InvalidItemFailsItsBatch() {
+    List<ProductRequest> requests = List.of(
+        new ProductRequest("A", BigDecimal.ONE),
+        new ProductRequest(null, BigDecimal.TWO));
+
+    BulkImportResponse response = productService.importProducts(requests.iterator());
+
+    assertEquals(0, response.getImported());
+    assertEquals(2, response.getFailed());
+    assertEquals(ImportBatchResult.Status.FAILED, response.getBatches().get(0).getStatus());
+    verify(productRepository, never()).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Should query the database when the search index cannot answer")
+  void searchProducts_IndexNotReady_QueriesDatabase() {
+    Product lamp = Product.builder().id(7L).name("Desk Lamp").priceMinor(3000).build();
+    when(searchIndex.search(any())).thenReturn(null);
+    when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(lamp), PageRequest.of(0, 5), 1));
+
+    ProductSearchResponse response = productService.searchProducts("lamp", null, null, "price,desc", null, 5);
+
+    assertEquals(1, response.getTotal());
+    assertEquals(7L, response.getProducts().get(0).getId());
+    assertEquals(5, response.getSize());
+    ArgumentCaptor<ProductSearchQuery> query = ArgumentCaptor.forClass(ProductSearchQuery.class);
+    verify(searchIndex).search(query.capture());
+    assertEquals(List.of("lamp"), query.getValue().tokens());
+    assertEquals(ProductSearchQuery.SortField.PRICE, query.getValue().sort());
+    assertTrue(query.getValue().descending());
+  }
+
+  @Test
+  @DisplayName("Should reject an inverted price range and pages beyond the result window")
+  void searchProducts_InvalidParameters_ThrowsException() {
+    BigDecimal ten = BigDecimal.TEN;
+    assertThrows(InvalidRequestException.class,
+        () -> productService.searchProducts(null, ten, BigDecimal.ONE, null, null, null));
+    assertThrows(InvalidRequestException.class,
+        () -> productService.searchProducts(null, null, null, null, 100, 100));
+    assertThrows(InvalidRequestException.class,
+        () -> productService.searchProducts(null, null, null, "price,up", null, null));
+    verifyNoInteractions(searchIndex);
+  }
 }
@@ -0,0 +1,79 @@
+package com.pollinate.challenge.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.pollinate.challenge.logging.LogValues;
+import com.pollinate.challenge.logging.SamplingTurboFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingTest {
+
+  private final LoggerContext loggerContext = new LoggerContext();
+
+  private SamplingTurboFilter sampling(int rate) {
+    SamplingTurboFilter filter = new SamplingTurboFilter();
+    filter.setRate(rate);
+    filter.setLoggers("com.example.Orders, com.example.web");
+    return filter;
+  }
+
+  private int passed(SamplingTurboFilter filter, String loggerName, Level level, int events) {
+    Logger logger = loggerContext.getLogger(loggerName);
+    int passed = 0;
+    for (int i = 0; i < events; i++) {
+      if (filter.decide(null, logger, level, "Order created", null, null) == FilterReply.NEUTRAL) {
+        passed++;
+      }
+    }
+    return passed;
+  }
+
+  @Test
+  @DisplayName("Sampling: About one in rate INFO events of a listed logger or its children pass")
+  void decide_SampledLogger_PassesOneInRate() {
+    SamplingTurboFilter filter = sampling(10);
+
+    int passed = passed(filter, "com.example.Orders", Level.INFO, 10_000);
+    assertTrue(passed > 800 && passed < 1200, "passed " + passed);
+    int childPassed = passed(filter, "com.example.web.OrderController", Level.INFO, 10_000);
+    assertTrue(childPassed > 800 && childPassed < 1200, "passed " + childPassed);
+  }
+
+  @Test
+  @DisplayName("Sampling: WARN, ERROR, other loggers and level checks always pass")
+  void decide_NotSampled_AlwaysPasses() {
+    SamplingTurboFilter filter = sampling(1_000_000);
+    Logger logger = loggerContext.getLogger("com.example.Orders");
+
+    assertEquals(100, passed(filter, "com.example.Orders", Level.WARN, 100));
+    assertEquals(100, passed(filter, "com.example.Orders", Level.ERROR, 100));
+    assertEquals(100, passed(filter, "com.example.OrdersArchive", Level.INFO, 100));
+    assertEquals(100, passed(filter, "com.example.webhooks.Sender", Level.INFO, 100));
+    assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+  }
+
+  @Test
+  @DisplayName("Sampling: A rate of 1 passes everything")
+  void decide_RateOne_PassesAll() {
+    assertEquals(1000, passed(sampling(1), "com.example.Orders", Level.INFO, 1000));
+  }
+
+  @Test
+  @DisplayName("Log values: Long lists are cut to the first ten IDs and a count")
+  void truncated_LongList_ListsFirstTen() {
+    List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+    assertEquals("[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ... (+990 more)]", LogValues.truncated(ids).toString());
+    assertEquals("[1, 2, 3]", LogValues.truncated(ids.subList(0, 3)).toString());
+    assertEquals("[]", LogValues.truncated(List.of()).toString());
+    assertEquals("null", LogValues.truncated(null).toString());
+  }
+}
@@ -0,0 +1,74 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.AdmissionProperties;
+import com.pollinate.challenge.service.admission.RequestRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestRateLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private RequestRateLimiter limiter(AdmissionProperties.RateLimit... rules) {
+    return new RequestRateLimiter(
+        new AdmissionProperties(true, 100, 8, 500, 2.0, 0.9, Duration.ofSeconds(1), List.of(rules)),
+        meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Rate limit: A burst is admitted, then the principal waits for the next permit")
+  void tryAcquire_BurstExhausted_ReturnsWait() {
+    RequestRateLimiter limiter = limiter(new AdmissionProperties.RateLimit("/api/orders/**", "POST", 0.5, 2));
+
+    assertEquals(0, limiter.tryAcquire("POST", "/api/orders", "alice"));
+    assertEquals(0, limiter.tryAcquire("POST", "/api/orders", "alice"));
+    long wait = limiter.tryAcquire("POST", "/api/orders", "alice");
+
+    assertTrue(wait > Duration.ofSeconds(1).toNanos() && wait <= Duration.ofSeconds(2).toNanos(), "wait was " + wait);
+    assertEquals(1, meterRegistry.get("http.admission").tag("reason", "rate-limit").counter().count());
+  }
+
+  @Test
+  @DisplayName("Rate limit: Principals have separate buckets")
+  void tryAcquire_OtherPrincipal_Admitted() {
+    RequestRateLimiter limiter = limiter(new AdmissionProperties.RateLimit("/api/**", null, 1, 1));
+
+    assertEquals(0, limiter.tryAcquire("GET", "/api/products", "alice"));
+    assertTrue(limiter.tryAcquire("GET", "/api/products", "alice") > 0);
+    assertEquals(0, limiter.tryAcquire("GET", "/api/products", "bob"));
+  }
+
+  @Test
+  @DisplayName("Rate limit: Only the first matching rule applies, and unmatched requests are admitted")
+  void tryAcquire_RuleMatching() {
+    RequestRateLimiter limiter = limiter(
+        new AdmissionProperties.RateLimit("/api/orders/**", "POST", 1, 1),
+        new AdmissionProperties.RateLimit("/api/**", "", 1000, 0));
+
+    assertEquals(0, limiter.tryAcquire("POST", "/api/orders", "alice"));
+    assertTrue(limiter.tryAcquire("POST", "/api/orders", "alice") > 0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, limiter.tryAcquire("GET", "/api/orders", "alice"));
+    }
+    assertEquals(0, limiter.tryAcquire("GET", "/actuator/health", "alice"));
+  }
+
+  @Test
+  @DisplayName("Rate limit: Nothing is limited when admission control is disabled")
+  void tryAcquire_Disabled_AlwaysAdmits() {
+    RequestRateLimiter limiter = new RequestRateLimiter(
+        new AdmissionProperties(false, 100, 8, 500, 2.0, 0.9, Duration.ofSeconds(1),
+            List.of(new AdmissionProperties.RateLimit("/api/**", null, 1, 1))),
+        meterRegistry);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0, limiter.tryAcquire("GET", "/api/products", "alice"));
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.pollinate.challenge.service;
+
+import com.pollinate.challenge.config.SalesReportProperties;
+import com.pollinate.challenge.domain.Money;
+import com.pollinate.challenge.domain.Order;
+import com.pollinate.challenge.domain.OrderLine;
+import com.pollinate.challenge.repository.OrderRepository;
+import com.pollinate.challenge.repository.OrderSalesRow;
+import com.pollinate.challenge.service.report.SalesRollup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupTest {
+
+  private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 15);
+
+  @Mock
+  private OrderRepository orderRepository;
+
+  private SalesRollup rollup(int chunkSize) {
+    return new SalesRollup(new SalesReportProperties(true, chunkSize, 2), orderRepository);
+  }
+
+  private Order order(long id, LocalDateTime createdAt, long productId, int quantity, String unitPrice) {
+    Order order = Order.builder().id(id).createdAt(createdAt).totalPriceMinor(Money.toMinorUnits(new BigDecimal(unitPrice)) * quantity).build();
+    order.addLine(OrderLine.builder()
+        .productId(productId).productName("P" + productId).quantity(quantity).unitPriceMinor(Money.toMinorUnits(new BigDecimal(unitPrice)))
+        .build());
+    return order;
+  }
+
+  private OrderSalesRow row(long orderId, LocalDateTime createdAt, String orderTotal, long productId, int quantity, String unitPrice) {
+    return new OrderSalesRow(orderId, createdAt, Money.toMinorUnits(new BigDecimal(orderTotal)), productId, "P" + productId,
+        quantity, Money.toMinorUnits(new BigDecimal(unitPrice)));
+  }
+
+  @Test
+  @DisplayName("Should add an order to product, hour and day buckets only after commit")
+  void recordAfterCommit_DefersUntilCommit() {
+    SalesRollup rollup = rollup(10);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      rollup.recordAfterCommit(List.of(order(1L, NOON, 7L, 3, "2.50")));
+      assertEquals(0, rollup.overall().orders());
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(3, rollup.byProduct().get(7L).units());
+    assertEquals(750, rollup.byProduct().get(7L).revenueMinor());
+    assertEquals(1, rollup.byHour().get(NOON.withMinute(0)).orders());
+    assertEquals(1, rollup.byDay().get(LocalDate.of(2026, 3, 1)).orders());
+  }
+
+  @Test
+  @DisplayName("Should rebuild from order lines in ID-range chunks, counting each order once")
+  void rebuild_ScansChunks() {
+    when(orderRepository.findMinId()).thenReturn(1L);
+    when(orderRepository.findMaxId()).thenReturn(3L);
+    when(orderRepository.findSalesRows(1L, 2L)).thenReturn(List.of(
+        row(1L, NOON, "5.00", 7L, 1, "2.00"),
+        row(1L, NOON, "5.00", 8L, 1, "3.00"),
+        row(2L, NOON.plusDays(1), "4.00", 7L, 2, "2.00")));
+    when(orderRepository.findSalesRows(3L, 3L)).thenReturn(List.of(
+        row(3L, NOON, "3.00", 8L, 1, "3.00")));
+
+    SalesRollup rollup = rollup(2);
+    rollup.recordAfterCommit(List.of(order(99L, NOON, 9L, 1, "1.00")));
+    SalesRollup.RebuildResult result = rollup.rebuild();
+
+    assertEquals(3, result.orders());
+    assertEquals(2, result.chunks());
+    assertEquals(3, rollup.overall().orders());
+    assertEquals(1200, rollup.overall().revenueMinor());
+    assertEquals(2, rollup.byProduct().get(7L).orders());
+    assertEquals(3, rollup.byProduct().get(7L).units());
+    assertEquals(2, rollup.byDay().get(NOON.toLocalDate()).orders());
+    // Recorded before the rebuild started, so only what is in the tables survives
+    assertNull(rollup.byProduct().get(9L));
+  }
+
+  @Test
+  @DisplayName("Should keep orders committed during a rebuild that the scan could not see")
+  void rebuild_ReplaysOrdersCommittedDuringScan() {
+    SalesRollup rollup = rollup(10);
+    when(orderRepository.findMinId()).thenReturn(1L);
+    when(orderRepository.findMaxId()).thenReturn(1L);
+    when(orderRepository.findSalesRows(1L, 1L)).thenAnswer(invocation -> {
+      // Commits while the chunk is being read: one above the scanned range, one inside it
+      rollup.recordAfterCommit(List.of(order(2L, NOON, 8L, 1, "3.00"), order(1L, NOON, 7L, 1, "2.00")));
+      return List.of(row(1L, NOON, "2.00", 7L, 1, "2.00"));
+    });
+
+    SalesRollup.RebuildResult result = rollup.rebuild();
+
+    assertEquals(1, result.replayed());
+    assertEquals(2, rollup.overall().orders());
+    assertEquals(1, rollup.byProduct().get(7L).orders());
+    assertEquals(1, rollup.byProduct().get(8L).orders());
+  }
+}
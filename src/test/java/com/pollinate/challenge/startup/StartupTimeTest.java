@@ -0,0 +1,121 @@
+package com.pollinate.challenge.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the packaged application in each startup mode and records the time from process
+ * launch to the first successful {@code GET /api/products}. Needs the jar and CDS archive
+ * built by the fast-start profile, which runs it: {@code ./mvnw -Pfast-start verify}.
+ */
+@Slf4j
+@Tag("startup")
+class StartupTimeTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(90);
+  private static final String AUTHORIZATION =
+      "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+  private final Path jar = Path.of(System.getProperty("startup.jar", "target/fast-start/challenge-0.0.1-SNAPSHOT.jar"));
+  private final int runs = Integer.getInteger("startup.runs", 3);
+
+  @Test
+  @DisplayName("Startup: Time to first successful request per startup mode")
+  void firstRequest_PerMode_WritesReport() throws Exception {
+    assertTrue(Files.isRegularFile(jar), "Build the jar first with ./mvnw -Pfast-start package: " + jar);
+
+    Map<String, List<String>> modes = new LinkedHashMap<>();
+    modes.put("default", List.of());
+    modes.put("prod", List.of("--spring.profiles.active=prod"));
+    modes.put("prod+aot", List.of("-Dspring.aot.enabled=true", "--spring.profiles.active=prod"));
+    modes.put("prod+aot+cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+        "--spring.profiles.active=prod"));
+
+    Path logs = Files.createDirectories(Path.of("target", "startup"));
+    StringBuilder report = new StringBuilder(String.format("%n%-14s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms"));
+    try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+      for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+        List<Long> millis = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+          millis.add(timeFirstRequest(client, mode.getValue(), logs.resolve(mode.getKey() + "-" + run + ".log")));
+        }
+        millis.sort(null);
+        report.append(String.format("%-14s %10d %10d %10d%n",
+            mode.getKey(), millis.getFirst(), millis.get(millis.size() / 2), millis.getLast()));
+      }
+    }
+    Files.writeString(logs.resolve("startup-" + System.currentTimeMillis() + ".txt"), report);
+    log.warn("Time to first successful request over {} runs each:{}", runs, report);
+  }
+
+  private long timeFirstRequest(HttpClient client, List<String> options, Path log) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    options.stream().filter(option -> option.startsWith("-") && !option.startsWith("--")).forEach(command::add);
+    command.add("-jar");
+    command.add(jar.toAbsolutePath().toString());
+    command.add("--server.port=" + port);
+    options.stream().filter(option -> option.startsWith("--")).forEach(command::add);
+
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+        .header("Authorization", AUTHORIZATION)
+        .timeout(Duration.ofSeconds(5))
+        .build();
+
+    long started = System.nanoTime();
+    Process process = new ProcessBuilder(command)
+        .directory(jar.toAbsolutePath().getParent().toFile())
+        .redirectErrorStream(true)
+        .redirectOutput(log.toFile())
+        .start();
+    try {
+      while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException("Application exited with " + process.exitValue() + "; see " + log);
+        }
+        try {
+          if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+          }
+        } catch (IOException notListeningYet) {
+          // Keep polling
+        }
+        Thread.sleep(10);
+      }
+      throw new IllegalStateException("No successful request within " + TIMEOUT + "; see " + log);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}